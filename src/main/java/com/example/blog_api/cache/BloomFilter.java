@@ -0,0 +1,80 @@
+package com.example.blog_api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 文字列のブルームフィルタ
+ * mightContainがfalseの場合は確実に未登録、trueの場合は登録済みの可能性がある
+ * 追加と判定はスレッドセーフ（削除はできないため、不要になった要素を除くには作り直す）
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedItems 想定する要素数
+     * @param falsePositiveRate 想定する要素数を登録したときの偽陽性率
+     */
+    public BloomFilter(int expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("expectedItems must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedItems * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitSize = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedItems * ln2));
+        this.bits = new AtomicLongArray((bitSize + 63) / 64);
+    }
+
+    public void add(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitSize);
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a（64ビット）に最終ミックスを加えたハッシュ
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.blog_api.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * BoundedTtlCacheの統計情報をMicrometerに登録する
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static void bind(MeterRegistry registry, String cacheName, BoundedTtlCache<?, ?> cache) {
+        FunctionCounter.builder("cache.hits", cache, BoundedTtlCache::hitCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder("cache.misses", cache, BoundedTtlCache::missCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedTtlCache::evictionCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("cache.size", cache, BoundedTtlCache::size)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("cache.hit.rate", cache, BoundedTtlCache::hitRate)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
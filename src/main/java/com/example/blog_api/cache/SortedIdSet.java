@@ -0,0 +1,61 @@
+package com.example.blog_api.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * ソート済み配列で保持する、変更不可のID集合
+ * HashSetよりメモリ効率が良く、二分探索で所属を判定する
+ * 追加・削除は新しい集合を返す（コピーオンライト）
+ */
+public final class SortedIdSet {
+
+    private static final SortedIdSet EMPTY = new SortedIdSet(new String[0]);
+
+    private final String[] ids;
+
+    private SortedIdSet(String[] ids) {
+        this.ids = ids;
+    }
+
+    public static SortedIdSet empty() {
+        return EMPTY;
+    }
+
+    public static SortedIdSet of(Collection<String> ids) {
+        String[] sorted = ids.stream().distinct().sorted().toArray(String[]::new);
+        return sorted.length == 0 ? EMPTY : new SortedIdSet(sorted);
+    }
+
+    public boolean contains(String id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public SortedIdSet with(String id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        String[] added = new String[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, insertAt);
+        added[insertAt] = id;
+        System.arraycopy(ids, insertAt, added, insertAt + 1, ids.length - insertAt);
+        return new SortedIdSet(added);
+    }
+
+    public SortedIdSet without(String id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        String[] removed = new String[ids.length - 1];
+        System.arraycopy(ids, 0, removed, 0, index);
+        System.arraycopy(ids, index + 1, removed, index, ids.length - index - 1);
+        return new SortedIdSet(removed);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.blog_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${tag-generation.worker.core-size:2}")
+    private int tagGenerationCoreSize;
+
+    @Value("${tag-generation.worker.max-size:4}")
+    private int tagGenerationMaxSize;
+
+    @Value("${tag-generation.worker.queue-capacity:500}")
+    private int tagGenerationQueueCapacity;
+
+    @Value("${tag-generation.batch.concurrency:2}")
+    private int tagBatchConcurrency;
+
+    @Value("${tag-generation.batch.queue-capacity:10000}")
+    private int tagBatchQueueCapacity;
+
+    @Value("${security.password.hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${image.processing.threads:2}")
+    private int imageProcessingThreads;
+
+    @Value("${image.processing.queue-capacity:16}")
+    private int imageProcessingQueueCapacity;
+
+    @Value("${blogs.detail.threads:16}")
+    private int blogDetailThreads;
+
+    @Value("${blogs.detail.queue-capacity:200}")
+    private int blogDetailQueueCapacity;
+
+    /**
+     * タグ生成用のワーカープール
+     * キューが溢れた場合は拒否する（リクエストスレッドでGemini APIを呼ばないよう、登録側でブログをFAILEDにする）
+     */
+    @Bean(name = "tagGenerationExecutor")
+    public ThreadPoolTaskExecutor tagGenerationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tagGenerationCoreSize);
+        executor.setMaxPoolSize(tagGenerationMaxSize);
+        executor.setQueueCapacity(tagGenerationQueueCapacity);
+        executor.setThreadNamePrefix("tag-gen-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 一括タグ生成用のワーカープール
+     * 同時に発行するGemini APIの一括リクエスト数をスレッド数で制限する
+     * キューが溢れた場合は拒否する（登録側でバッチのブログをFAILEDにする）
+     */
+    @Bean(name = "tagBatchExecutor")
+    public ThreadPoolTaskExecutor tagBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tagBatchConcurrency);
+        executor.setMaxPoolSize(tagBatchConcurrency);
+        executor.setQueueCapacity(tagBatchQueueCapacity);
+        executor.setThreadNamePrefix("tag-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * パスワードのハッシュ化・照合用のワーカープール
+     * キューが溢れた場合は呼び出し元で実行せずに拒否し、リクエストスレッドがCPUを占有しないようにする
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashingThreads);
+        executor.setMaxPoolSize(passwordHashingThreads);
+        executor.setQueueCapacity(passwordHashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * 画像の縮小処理用のワーカープール
+     * デコードした画像はヒープを大きく使うため、同時に処理する枚数をスレッド数とキューで制限する
+     */
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageProcessingThreads);
+        executor.setMaxPoolSize(imageProcessingThreads);
+        executor.setQueueCapacity(imageProcessingQueueCapacity);
+        executor.setThreadNamePrefix("image-proc-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * ブログ詳細の並行取得用のワーカープール
+     * キューが溢れた場合は呼び出し元スレッドで実行し、並行せずに取得する
+     */
+    @Bean(name = "blogDetailExecutor")
+    public ThreadPoolTaskExecutor blogDetailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blogDetailThreads);
+        executor.setMaxPoolSize(blogDetailThreads);
+        executor.setQueueCapacity(blogDetailQueueCapacity);
+        executor.setThreadNamePrefix("blog-detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.blog_api.config;
+
+import com.example.blog_api.service.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Gemini API呼び出し用のHTTPクライアント設定
+ * コネクションプールとタイムアウトを設定し、上流の遅延がリクエストスレッドを占有し続けないようにする
+ */
+@Configuration
+public class GeminiClientConfig {
+
+    @Value("${gemini.http.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${gemini.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${gemini.http.read-timeout:15s}")
+    private Duration readTimeout;
+
+    @Value("${gemini.http.pool-acquire-timeout:1s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${gemini.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${gemini.http.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Value("${gemini.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${gemini.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager geminiConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtl.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        Gauge.builder("gemini.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("貸し出し中のコネクション数")
+                .register(meterRegistry);
+        Gauge.builder("gemini.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("コネクション待ちのリクエスト数")
+                .register(meterRegistry);
+        Gauge.builder("gemini.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("再利用可能なアイドルコネクション数")
+                .register(meterRegistry);
+        Gauge.builder("gemini.http.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("コネクション数の上限")
+                .register(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geminiHttpClient(PoolingHttpClientConnectionManager geminiConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(geminiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate geminiRestTemplate(CloseableHttpClient geminiHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(geminiHttpClient));
+    }
+
+    @Bean
+    public CircuitBreaker geminiCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(failureThreshold, openDuration.toMillis());
+        Gauge.builder("gemini.circuit.open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("サーキットブレーカーが遮断中なら1")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+}
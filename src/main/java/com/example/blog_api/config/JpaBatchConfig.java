@@ -0,0 +1,27 @@
+package com.example.blog_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBCバッチ更新の設定
+ * saveAll等で複数行を登録する際、INSERT/UPDATEをまとめて送信する
+ * application.ymlでhibernateのプロパティを指定した場合はそちらを優先する
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Value("${jpa.jdbc-batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -2,7 +2,11 @@ package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.LoginRequest;
 import com.example.blog_api.dto.LoginResponse;
+import com.example.blog_api.dto.RefreshTokenRequest;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.security.JwtRequestFilter;
 import com.example.blog_api.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,8 +22,26 @@ public class AuthContoroller {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
+        LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody(required = false) RefreshTokenRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        String accessToken = JwtRequestFilter.bearerToken(authHeader)
+                .orElseThrow(() -> new BadRequestException("Authorization header is missing or invalid"));
+        String refreshToken = request != null ? request.getRefreshToken() : null;
+        authService.logout(accessToken, refreshToken);
+        return ResponseEntity.noContent().build();
+    }
 }
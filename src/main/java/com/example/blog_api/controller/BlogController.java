@@ -2,11 +2,19 @@ package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.Blog;
 import com.example.blog_api.dto.BlogCreateRequest;
+import com.example.blog_api.dto.BlogDetail;
+import com.example.blog_api.dto.BlogImportRequest;
+import com.example.blog_api.dto.BlogImportResponse;
 import com.example.blog_api.dto.BlogUpdateRequest;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.dto.Tag;
 import com.example.blog_api.security.AuthenticationHelper;
+import com.example.blog_api.service.BlogDetailService;
+import com.example.blog_api.service.BlogImportService;
 import com.example.blog_api.service.BlogService;
+import com.example.blog_api.service.UserSummaryService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,16 +27,35 @@ public class BlogController {
 
     private final AuthenticationHelper authHelper;
     private final BlogService blogService;
+    private final BlogImportService blogImportService;
+    private final BlogDetailService blogDetailService;
+    private final UserSummaryService userSummaryService;
 
-    public BlogController(AuthenticationHelper authHelper, BlogService blogService) {
+    public BlogController(AuthenticationHelper authHelper, BlogService blogService, BlogImportService blogImportService,
+                          BlogDetailService blogDetailService, UserSummaryService userSummaryService) {
         this.authHelper = authHelper;
         this.blogService = blogService;
+        this.blogImportService = blogImportService;
+        this.blogDetailService = blogDetailService;
+        this.userSummaryService = userSummaryService;
     }
 
+    /**
+     * include=authorの場合は各ブログに投稿者の概要を付ける
+     */
     @GetMapping
-    public ResponseEntity<List<Blog>> getAllBlogs() {
-        List<Blog> blogs = blogService.getAllBlogs();
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<?> getAllBlogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String include) {
+        boolean withAuthor = IncludeParameter.includesAuthor(include);
+        CursorPage<Blog> page = blogService.getBlogs(cursor, size);
+        if (withAuthor) {
+            return ConditionalResponses.ok(
+                    new CursorPage<>(userSummaryService.withAuthors(page.getItems(), Blog::getUserId), page.getNextCursor()),
+                    ConditionalResponses.withAuthor(ConditionalResponses::version));
+        }
+        return ConditionalResponses.ok(page, ConditionalResponses::version);
     }
 
     @PostMapping
@@ -41,22 +68,57 @@ public class BlogController {
         return ResponseEntity.status(HttpStatus.CREATED).body(blog);
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<BlogImportResponse> importBlogs(
+            @RequestHeader("Authorization") String authHeader,
+            @Valid @RequestBody BlogImportRequest request) {
+        String userId = authHelper.getCurrentUserId(authHeader);
+
+        BlogImportResponse response = blogImportService.importBlogs(userId, request.getBlogs());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @GetMapping("/{blogId}")
     public ResponseEntity<Blog> getBlog(@PathVariable String blogId) {
         Blog blog = blogService.getBlogById(blogId);
-        return ResponseEntity.ok(blog);
+        return ConditionalResponses.ok(blog, ConditionalResponses.etag(ConditionalResponses.version(blog)));
+    }
+
+    /**
+     * ブログの表示に必要な情報をまとめて取得（ログイン中の場合は閲覧者がいいね済みかを含む）
+     */
+    @GetMapping("/{blogId}/detail")
+    public ResponseEntity<BlogDetail> getBlogDetail(
+            @PathVariable String blogId,
+            @RequestParam(required = false) Integer commentSize) {
+        String viewerId = authHelper.findCurrentUserId().orElse(null);
+        BlogDetail detail = blogDetailService.getBlogDetail(blogId, viewerId, commentSize);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore().cachePrivate())
+                .body(detail);
     }
 
     @GetMapping("/{blogId}/tags")
     public ResponseEntity<List<Tag>> getBlogTags(@PathVariable String blogId) {
         List<Tag> tags = blogService.getTagsForBlog(blogId);
-        return ResponseEntity.ok(tags);
+        return ConditionalResponses.ok(tags, ConditionalResponses::version);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Blog>> searchBlogsByTags(@RequestParam List<String> tags) {
-        List<Blog> blogs = blogService.searchBlogsByTags(tags);
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<?> searchBlogsByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "any") String mode,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String include) {
+        boolean withAuthor = IncludeParameter.includesAuthor(include);
+        List<Blog> blogs = blogService.searchBlogsByTags(tags, mode, sort, page, size);
+        if (withAuthor) {
+            return ConditionalResponses.ok(userSummaryService.withAuthors(blogs, Blog::getUserId),
+                    ConditionalResponses.withAuthor(ConditionalResponses::version));
+        }
+        return ConditionalResponses.ok(blogs, ConditionalResponses::version);
     }
 
     @PutMapping("/{blogId}")
@@ -2,30 +2,46 @@ package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.Comment;
 import com.example.blog_api.dto.CommentCreateRequest;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.security.AuthenticationHelper;
 import com.example.blog_api.service.CommentService;
+import com.example.blog_api.service.UserSummaryService;
 
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 public class CommentController {
     private final CommentService commentService;
     private final AuthenticationHelper authHelper;
+    private final UserSummaryService userSummaryService;
 
-    public CommentController(CommentService commentService, AuthenticationHelper authHelper) {
+    public CommentController(CommentService commentService, AuthenticationHelper authHelper,
+                             UserSummaryService userSummaryService) {
         this.commentService = commentService;
         this.authHelper = authHelper;
+        this.userSummaryService = userSummaryService;
     }
 
+    /**
+     * include=authorの場合は各コメントに投稿者の概要を付ける
+     */
     @GetMapping("/blogs/{blogId}/comments")
-    public ResponseEntity<List<Comment>> getCommentsByBlog(@PathVariable String blogId) {
-        List<Comment> comments = commentService.searchCommentByBlogId(blogId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<?> getCommentsByBlog(
+            @PathVariable String blogId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String include) {
+        boolean withAuthor = IncludeParameter.includesAuthor(include);
+        CursorPage<Comment> page = commentService.searchCommentByBlogId(blogId, cursor, size);
+        if (withAuthor) {
+            return ConditionalResponses.ok(
+                    new CursorPage<>(userSummaryService.withAuthors(page.getItems(), Comment::getUserId), page.getNextCursor()),
+                    ConditionalResponses.withAuthor(ConditionalResponses::version));
+        }
+        return ConditionalResponses.ok(page, ConditionalResponses::version);
     }
 
     @PostMapping("/blogs/{blogId}/comments")
@@ -42,7 +58,7 @@ public class CommentController {
     @GetMapping("/comments/{commentId}")
     public ResponseEntity<Comment> getComment(@PathVariable String commentId) {
         Comment comment = commentService.getCommentById(commentId);
-        return ResponseEntity.ok(comment);
+        return ConditionalResponses.ok(comment, ConditionalResponses.etag(ConditionalResponses.version(comment)));
     }
 
     @DeleteMapping("/comments/{commentId}")
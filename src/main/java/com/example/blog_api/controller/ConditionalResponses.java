@@ -0,0 +1,105 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.Comment;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.dto.UserSummary;
+import com.example.blog_api.dto.WithAuthor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 条件付きリクエストに対応したGETのレスポンス
+ * 内容から強いETagを付け、If-None-Matchが一致する場合はSpringが本文を書かずに304を返す
+ * いいね数・コメント数はupdatedAtを更新せずに変わるため、Last-Modifiedは返さずETagのみで判定する
+ */
+final class ConditionalResponses {
+
+    /** キャッシュは保持してよいが、使う前に必ずETagで再検証させる */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    /** ETagに使うハッシュの長さ（バイト） */
+    private static final int ETAG_BYTES = 16;
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(body);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(List<T> items, Function<T, String> version) {
+        return ok(items, etag(items.stream().map(version).toArray()));
+    }
+
+    /**
+     * カーソル方式の一覧（次のページのカーソルもETagに含める）
+     */
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page, Function<T, String> version) {
+        String etag = etag(page.getNextCursor(), etag(page.getItems().stream().map(version).toArray()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE);
+        if (page.getNextCursor() != null) {
+            response.header(CursorResponses.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    static String version(Blog blog) {
+        return blog.getId() + ":" + blog.getUpdatedAt() + ":" + blog.getLikeCount() + ":"
+                + blog.getCommentCount() + ":" + blog.getTagStatus();
+    }
+
+    static String version(Comment comment) {
+        return comment.getId() + ":" + comment.getLikeCount();
+    }
+
+    static String version(Tag tag) {
+        return tag.getId() + ":" + tag.getName();
+    }
+
+    /**
+     * 投稿者付きの要素（投稿者の表示名・アイコンが変わった場合もETagを変える）
+     */
+    static <T> Function<WithAuthor<T>, String> withAuthor(Function<T, String> version) {
+        return item -> version.apply(item.getItem()) + ":" + version(item.getAuthor());
+    }
+
+    private static String version(UserSummary author) {
+        if (author == null) {
+            return "";
+        }
+        return author.getId() + ":" + author.getName() + ":" + author.getNickname() + ":"
+                + author.getIconUrl() + ":" + author.getIconSmallUrl();
+    }
+
+    /**
+     * 値を連結したもののSHA-256の先頭をETagにする
+     */
+    static String etag(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            byte[] hash = Arrays.copyOf(digest.digest(), ETAG_BYTES);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
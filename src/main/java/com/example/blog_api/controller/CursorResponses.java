@@ -0,0 +1,26 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * カーソル方式の一覧レスポンス
+ * 本文は従来通り配列とし、次のページのカーソルはX-Next-Cursorヘッダーで返す
+ */
+final class CursorResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
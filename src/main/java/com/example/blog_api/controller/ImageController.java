@@ -0,0 +1,77 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.service.LocalImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * ローカルに保存した画像の配信
+ * ファイル名が内容のハッシュのため、ETagはハッシュをそのまま使い、無期限にキャッシュさせる
+ */
+@RestController
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "local")
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStorage imageStorage;
+
+    public ImageController(LocalImageStorage imageStorage) {
+        this.imageStorage = imageStorage;
+    }
+
+    @GetMapping("/images/{folder}/{shard}/{fileName:.+}")
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String folder,
+            @PathVariable String shard,
+            @PathVariable String fileName,
+            WebRequest webRequest,
+            HttpServletRequest request) throws IOException {
+        Path path = imageStorage.resolve(folder, shard, fileName)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found"));
+
+        String etag = "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        long size = Files.size(path);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM));
+
+        // Range指定の無いリクエストは、Tomcatのsendfileでカーネルから直接送信する
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return response.contentLength(size).build();
+        }
+
+        // Range指定のあるリクエストはSpring MVCが部分レスポンス（206）を返す
+        return response.body(new FileSystemResource(path));
+    }
+}
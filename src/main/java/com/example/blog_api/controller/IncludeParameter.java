@@ -0,0 +1,28 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.exception.BadRequestException;
+
+/**
+ * 一覧のincludeパラメータ（現在はauthorのみ）
+ */
+final class IncludeParameter {
+
+    static final String AUTHOR = "author";
+
+    private IncludeParameter() {
+    }
+
+    /**
+     * 投稿者の概要を付けるか
+     * @throws BadRequestException author以外が指定された場合
+     */
+    static boolean includesAuthor(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        if (!AUTHOR.equals(include.trim())) {
+            throw new BadRequestException("Unsupported include: " + include);
+        }
+        return true;
+    }
+}
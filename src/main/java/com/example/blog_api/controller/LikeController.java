@@ -6,30 +6,67 @@ import com.example.blog_api.dto.CommentLike;
 import com.example.blog_api.dto.CommentLikeCreateRequest;
 import com.example.blog_api.security.AuthenticationHelper;
 import com.example.blog_api.service.BlogLikeService;
+import com.example.blog_api.service.BlogLikeWriteBehindBuffer;
 import com.example.blog_api.service.CommentLikeService;
+import com.example.blog_api.service.UserLikeIndex;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 public class LikeController {
     private final AuthenticationHelper authHelper;
     private final BlogLikeService blogLikeService;
     private final CommentLikeService commentLikeService;
+    private final UserLikeIndex userLikeIndex;
+    private final Optional<BlogLikeWriteBehindBuffer> likeBuffer;
 
-    public LikeController(AuthenticationHelper authHelper, BlogLikeService blogLikeService, CommentLikeService commentLikeService) {
+    public LikeController(AuthenticationHelper authHelper,
+                          BlogLikeService blogLikeService,
+                          CommentLikeService commentLikeService,
+                          UserLikeIndex userLikeIndex,
+                          Optional<BlogLikeWriteBehindBuffer> likeBuffer) {
         this.authHelper = authHelper;
         this.blogLikeService = blogLikeService;
         this.commentLikeService = commentLikeService;
+        this.userLikeIndex = userLikeIndex;
+        this.likeBuffer = likeBuffer;
+    }
+
+    @GetMapping("/likes/blogs")
+    public ResponseEntity<List<String>> getLikedBlogIds(
+            @RequestParam List<String> ids,
+            @RequestHeader("Authorization") String authHeader) {
+        String userId = authHelper.getCurrentUserId(authHeader);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(userLikeIndex.likedBlogIds(userId, ids));
+    }
+
+    @GetMapping("/likes/comments")
+    public ResponseEntity<List<String>> getLikedCommentIds(
+            @RequestParam List<String> ids,
+            @RequestHeader("Authorization") String authHeader) {
+        String userId = authHelper.getCurrentUserId(authHeader);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(userLikeIndex.likedCommentIds(userId, ids));
     }
     
     @GetMapping("/blogs/{blogId}/likes")
-    public ResponseEntity<List<BlogLike>> getBlogLikes(@PathVariable String blogId) {
-        
-        return ResponseEntity.ok(blogLikeService.getLikesByBlogId(blogId));
+    public ResponseEntity<List<BlogLike>> getBlogLikes(
+            @PathVariable String blogId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return CursorResponses.ok(blogLikeService.getLikesByBlogId(blogId, cursor, size));
     }
 
     @PostMapping("/blogs/{blogId}/likes")
@@ -42,13 +79,14 @@ public class LikeController {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        
-        try {
-            BlogLike createdLike = blogLikeService.createBlogLike(blogId, userId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdLike);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+        if (likeBuffer.isPresent()) {
+            likeBuffer.get().like(blogId, userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
         }
+
+        BlogLike createdLike = blogLikeService.createBlogLike(blogId, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdLike);
     }
 
     @DeleteMapping("/blogs/{blogId}/likes")
@@ -60,6 +98,11 @@ public class LikeController {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+
+        if (likeBuffer.isPresent()) {
+            likeBuffer.get().unlike(blogId, userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
         
         blogLikeService.deleteBlogLike(blogId, userId);
         return ResponseEntity.noContent().build();
@@ -67,8 +110,11 @@ public class LikeController {
 
     
     @GetMapping("/comments/{commentId}/likes")
-    public ResponseEntity<List<CommentLike>> getCommentLikes(@PathVariable String commentId) {
-        return ResponseEntity.ok(commentLikeService.getLikesByCommentId(commentId));
+    public ResponseEntity<List<CommentLike>> getCommentLikes(
+            @PathVariable String commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return CursorResponses.ok(commentLikeService.getLikesByCommentId(commentId, cursor, size));
     }
 
     @PostMapping("/comments/{commentId}/likes")
@@ -81,13 +127,9 @@ public class LikeController {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        
-        try {
-            CommentLike createdLike = commentLikeService.createCommentLike(commentId, userId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdLike);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        }
+
+        CommentLike createdLike = commentLikeService.createCommentLike(commentId, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdLike);
     }
 
     @DeleteMapping("/comments/{commentId}/likes")
@@ -1,25 +1,31 @@
 package com.example.blog_api.controller;
 
+import com.example.blog_api.dto.Blog;
 import com.example.blog_api.dto.User;
 import com.example.blog_api.dto.UserCreateRequest;
 import com.example.blog_api.dto.UserUpdateRequest;
 import com.example.blog_api.security.AuthenticationHelper;
+import com.example.blog_api.service.BlogService;
 import com.example.blog_api.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
     private final AuthenticationHelper authHelper;
+    private final BlogService blogService;
 
-    public UserController(UserService userService, AuthenticationHelper authHelper) {
+    public UserController(UserService userService, AuthenticationHelper authHelper, BlogService blogService) {
         this.userService = userService;
         this.authHelper = authHelper;
+        this.blogService = blogService;
     }
 
     @PostMapping
@@ -43,6 +49,15 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/{userId}/blogs")
+    public ResponseEntity<List<Blog>> getUserBlogs(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ConditionalResponses.ok(blogService.getBlogsByUserId(userId, cursor, size),
+                ConditionalResponses::version);
+    }
+
     @PutMapping("/{userId}")
     public ResponseEntity<User> updateUser(
             @PathVariable String userId,
@@ -4,9 +4,12 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -14,7 +17,10 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+    @Index(name = "idx_blogs_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_blogs_user_id_created_at_id", columnList = "user_id, created_at, id")
+})
 public class Blog {
     
     @Id
@@ -38,6 +44,10 @@ public class Blog {
     @Column(name = "comment_count", nullable = false)
     private Integer commentCount = 0;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tag_status", length = 16)
+    private TagStatus tagStatus = TagStatus.READY;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -97,6 +107,17 @@ public class Blog {
         this.commentCount = commentCount;
     }
 
+    /**
+     * カラム追加前に作成された行（NULL）はタグ生成済みとして扱う
+     */
+    public TagStatus getTagStatus() {
+        return tagStatus != null ? tagStatus : TagStatus.READY;
+    }
+
+    public void setTagStatus(TagStatus tagStatus) {
+        this.tagStatus = tagStatus;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
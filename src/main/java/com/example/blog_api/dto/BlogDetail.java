@@ -0,0 +1,86 @@
+package com.example.blog_api.dto;
+
+import java.util.List;
+
+/**
+ * ブログの表示に必要な情報をまとめたもの
+ * いいね数・コメント数はblogに含まれる
+ */
+public class BlogDetail {
+    private Blog blog;
+    private List<Tag> tags;
+    private List<Comment> comments;
+    private String commentsNextCursor;
+    private UserSummary author;
+    private Boolean liked;
+
+    public BlogDetail() {
+    }
+
+    public BlogDetail(Blog blog, List<Tag> tags, List<Comment> comments, String commentsNextCursor,
+                      UserSummary author, Boolean liked) {
+        this.blog = blog;
+        this.tags = tags;
+        this.comments = comments;
+        this.commentsNextCursor = commentsNextCursor;
+        this.author = author;
+        this.liked = liked;
+    }
+
+    public Blog getBlog() {
+        return blog;
+    }
+
+    public void setBlog(Blog blog) {
+        this.blog = blog;
+    }
+
+    public List<Tag> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<Tag> tags) {
+        this.tags = tags;
+    }
+
+    public List<Comment> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<Comment> comments) {
+        this.comments = comments;
+    }
+
+    /**
+     * コメントの次のページのカーソル（GET /blogs/{blogId}/comments に渡す、最後のページの場合はnull）
+     */
+    public String getCommentsNextCursor() {
+        return commentsNextCursor;
+    }
+
+    public void setCommentsNextCursor(String commentsNextCursor) {
+        this.commentsNextCursor = commentsNextCursor;
+    }
+
+    /**
+     * 投稿者（退会済みの場合はnull）
+     */
+    public UserSummary getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserSummary author) {
+        this.author = author;
+    }
+
+    /**
+     * 閲覧者がいいね済みか（未ログインの場合はnull）
+     */
+    public Boolean getLiked() {
+        return liked;
+    }
+
+    public void setLiked(Boolean liked) {
+        this.liked = liked;
+    }
+}
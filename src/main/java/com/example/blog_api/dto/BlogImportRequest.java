@@ -0,0 +1,33 @@
+package com.example.blog_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * ブログの一括登録リクエスト
+ */
+public class BlogImportRequest {
+
+    @NotEmpty(message = "ブログは1件以上指定してください")
+    @Size(max = 1000, message = "一度に登録できるブログは1000件までです")
+    @Valid
+    private List<BlogCreateRequest> blogs;
+
+    public BlogImportRequest() {
+    }
+
+    public BlogImportRequest(List<BlogCreateRequest> blogs) {
+        this.blogs = blogs;
+    }
+
+    public List<BlogCreateRequest> getBlogs() {
+        return blogs;
+    }
+
+    public void setBlogs(List<BlogCreateRequest> blogs) {
+        this.blogs = blogs;
+    }
+}
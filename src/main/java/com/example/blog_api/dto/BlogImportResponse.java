@@ -0,0 +1,36 @@
+package com.example.blog_api.dto;
+
+import java.util.List;
+
+/**
+ * ブログの一括登録結果
+ * タグはバックグラウンドで生成されるため、登録直後のブログはタグ生成待ち状態となる
+ */
+public class BlogImportResponse {
+    private int importedCount;
+    private List<String> blogIds;
+
+    public BlogImportResponse() {
+    }
+
+    public BlogImportResponse(int importedCount, List<String> blogIds) {
+        this.importedCount = importedCount;
+        this.blogIds = blogIds;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public List<String> getBlogIds() {
+        return blogIds;
+    }
+
+    public void setBlogIds(List<String> blogIds) {
+        this.blogIds = blogIds;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,9 @@ import jakarta.validation.constraints.NotNull;
 @Entity
 @Table(name = "blog_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"blog_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_blog_likes_blog_id_created_at_id", columnList = "blog_id, created_at, id"),
+    @Index(name = "idx_blog_likes_user_id_blog_id", columnList = "user_id, blog_id")
 })
 public class BlogLike {
     
@@ -0,0 +1,11 @@
+package com.example.blog_api.dto;
+
+/**
+ * 複数のタグ名で検索する場合の一致条件
+ */
+public enum BlogSearchMode {
+    /** いずれかの検索語に一致 */
+    ANY,
+    /** 全ての検索語に一致 */
+    ALL
+}
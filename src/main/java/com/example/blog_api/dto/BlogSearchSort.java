@@ -0,0 +1,11 @@
+package com.example.blog_api.dto;
+
+/**
+ * タグ検索で一致数が同じブログの並び順
+ */
+public enum BlogSearchSort {
+    /** 新しい順 */
+    RECENT,
+    /** いいね数の多い順 */
+    LIKES
+}
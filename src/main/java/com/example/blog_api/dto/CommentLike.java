@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,9 @@ import jakarta.validation.constraints.NotNull;
 @Entity
 @Table(name = "comment_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"comment_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_comment_likes_comment_id_created_at_id", columnList = "comment_id, created_at, id"),
+    @Index(name = "idx_comment_likes_user_id_comment_id", columnList = "user_id, comment_id")
 })
 public class CommentLike {
     
@@ -0,0 +1,26 @@
+package com.example.blog_api.dto;
+
+import java.util.List;
+
+/**
+ * カーソル方式でページングした一覧
+ * nextCursorは次のページが無い場合null
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
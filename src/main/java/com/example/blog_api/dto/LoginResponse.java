@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 public class LoginResponse {
     private String token;
+    private String refreshToken;
     private String userId;
     private LocalDateTime expiresAt;
 
@@ -24,6 +25,14 @@ public class LoginResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getUserId() {
         return userId;
     }
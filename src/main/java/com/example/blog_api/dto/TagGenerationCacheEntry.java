@@ -0,0 +1,60 @@
+package com.example.blog_api.dto;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * タグ生成結果の永続キャッシュ
+ * プロンプト入力のハッシュをキーに、生成済みタグを保存する
+ */
+@Entity
+@Table(name = "tag_generation_cache")
+public class TagGenerationCacheEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 1000)
+    private String tags;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TagGenerationCacheEntry() {
+    }
+
+    public TagGenerationCacheEntry(String contentHash, String tags, LocalDateTime createdAt) {
+        this.contentHash = contentHash;
+        this.tags = tags;
+        this.createdAt = createdAt;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
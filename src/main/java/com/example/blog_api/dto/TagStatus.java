@@ -0,0 +1,13 @@
+package com.example.blog_api.dto;
+
+/**
+ * ブログのタグ生成状態
+ */
+public enum TagStatus {
+    /** タグ生成待ち（バックグラウンドで生成中） */
+    PENDING,
+    /** タグ生成完了 */
+    READY,
+    /** タグ生成失敗 */
+    FAILED
+}
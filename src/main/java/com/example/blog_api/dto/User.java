@@ -7,12 +7,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_icon_url", columnList = "icon_url"),
+    @Index(name = "idx_users_icon_small_url", columnList = "icon_small_url"),
+    @Index(name = "idx_users_icon_medium_url", columnList = "icon_medium_url")
+})
 public class User {
     
     @Id
@@ -35,6 +40,14 @@ public class User {
     
     @Column(name = "icon_url")
     private String iconUrl;
+
+    /** 一覧表示用に縮小したアイコン */
+    @Column(name = "icon_small_url")
+    private String iconSmallUrl;
+
+    /** プロフィールカード用に縮小したアイコン */
+    @Column(name = "icon_medium_url")
+    private String iconMediumUrl;
     
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -95,6 +108,22 @@ public class User {
         this.iconUrl = iconUrl;
     }
 
+    public String getIconSmallUrl() {
+        return iconSmallUrl;
+    }
+
+    public void setIconSmallUrl(String iconSmallUrl) {
+        this.iconSmallUrl = iconSmallUrl;
+    }
+
+    public String getIconMediumUrl() {
+        return iconMediumUrl;
+    }
+
+    public void setIconMediumUrl(String iconMediumUrl) {
+        this.iconMediumUrl = iconMediumUrl;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
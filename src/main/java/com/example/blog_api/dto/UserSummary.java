@@ -0,0 +1,68 @@
+package com.example.blog_api.dto;
+
+/**
+ * 投稿者として表示するユーザーの概要（パスワード等は含めない）
+ */
+public class UserSummary {
+    private String id;
+    private String name;
+    private String nickname;
+    private String iconUrl;
+    private String iconSmallUrl;
+
+    public UserSummary() {
+    }
+
+    public UserSummary(String id, String name, String nickname, String iconUrl, String iconSmallUrl) {
+        this.id = id;
+        this.name = name;
+        this.nickname = nickname;
+        this.iconUrl = iconUrl;
+        this.iconSmallUrl = iconSmallUrl;
+    }
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getNickname(),
+                user.getIconUrl(), user.getIconSmallUrl());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+
+    public String getIconUrl() {
+        return iconUrl;
+    }
+
+    public void setIconUrl(String iconUrl) {
+        this.iconUrl = iconUrl;
+    }
+
+    public String getIconSmallUrl() {
+        return iconSmallUrl;
+    }
+
+    public void setIconSmallUrl(String iconSmallUrl) {
+        this.iconSmallUrl = iconSmallUrl;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.blog_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * 一覧の要素に投稿者の概要を付けたもの
+ * JSONでは要素のフィールドと同じ階層にauthorを追加する
+ */
+public class WithAuthor<T> {
+
+    @JsonUnwrapped
+    private final T item;
+
+    private final UserSummary author;
+
+    public WithAuthor(T item, UserSummary author) {
+        this.item = item;
+        this.author = author;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * 投稿者（退会済みの場合はnull）
+     */
+    public UserSummary getAuthor() {
+        return author;
+    }
+}
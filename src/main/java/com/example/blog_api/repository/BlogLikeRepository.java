@@ -1,9 +1,15 @@
 package com.example.blog_api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.blog_api.dto.BlogLike;
@@ -12,5 +18,36 @@ import com.example.blog_api.dto.BlogLike;
 public interface BlogLikeRepository extends JpaRepository<BlogLike, String> {
     List<BlogLike> findByBlogId(String blogId);
     Optional<BlogLike> findByBlogIdAndUserId(String blogId, String userId);
-    void deleteByBlogIdAndUserId(String blogId, String userId);
+
+    @Modifying
+    @Query("DELETE FROM BlogLike l WHERE l.blogId = :blogId AND l.userId = :userId")
+    int deleteByBlogIdAndUserId(@Param("blogId") String blogId, @Param("userId") String userId);
+
+    @Query("SELECT l.blogId FROM BlogLike l WHERE l.userId = :userId")
+    List<String> findBlogIdsByUserId(@Param("userId") String userId);
+
+    @Query("SELECT l.blogId FROM BlogLike l WHERE l.userId = :userId AND l.blogId IN :blogIds")
+    List<String> findBlogIdsByUserIdAndBlogIdIn(@Param("userId") String userId,
+                                                @Param("blogIds") Collection<String> blogIds);
+
+    long countByUserId(String userId);
+
+    @Query("SELECT l.userId FROM BlogLike l WHERE l.blogId = :blogId AND l.userId IN :userIds")
+    List<String> findUserIdsByBlogIdAndUserIdIn(@Param("blogId") String blogId,
+                                                @Param("userIds") Collection<String> userIds);
+
+    @Modifying
+    @Query("DELETE FROM BlogLike l WHERE l.blogId = :blogId AND l.userId IN :userIds")
+    int deleteByBlogIdAndUserIdIn(@Param("blogId") String blogId, @Param("userIds") Collection<String> userIds);
+
+    @Query("SELECT l FROM BlogLike l WHERE l.blogId = :blogId ORDER BY l.createdAt DESC, l.id DESC")
+    List<BlogLike> findPageByBlogId(@Param("blogId") String blogId, Pageable pageable);
+
+    @Query("SELECT l FROM BlogLike l WHERE l.blogId = :blogId "
+            + "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) "
+            + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<BlogLike> findPageByBlogIdAfter(@Param("blogId") String blogId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") String id,
+                                         Pageable pageable);
 }
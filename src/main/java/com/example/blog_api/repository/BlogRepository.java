@@ -1,13 +1,101 @@
 package com.example.blog_api.repository;
 
 import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.TagStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, String> {
     List<Blog> findByUserId(String userId);
     List<Blog> findByIdIn(List<String> ids);
+
+    /**
+     * いいね数を加算（負にはしない）
+     */
+    @Modifying
+    @Query("UPDATE Blog b SET b.likeCount = b.likeCount + :delta WHERE b.id = :blogId AND b.likeCount + :delta >= 0")
+    int addLikeCount(@Param("blogId") String blogId, @Param("delta") int delta);
+
+    /**
+     * コメント数を加算（負にはしない）
+     */
+    @Modifying
+    @Query("UPDATE Blog b SET b.commentCount = b.commentCount + :delta WHERE b.id = :blogId AND b.commentCount + :delta >= 0")
+    int addCommentCount(@Param("blogId") String blogId, @Param("delta") int delta);
+
+    /**
+     * IDの昇順で指定したIDより後のブログIDを取得（カウンターの再計算を区切って進めるため）
+     */
+    @Query("SELECT b.id FROM Blog b WHERE b.id > :after ORDER BY b.id")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * 指定したブログの行ロックを取得
+     */
+    @Query(value = "SELECT id FROM blogs WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<String> lockByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * 指定したブログのうち、いいね数がblog_likesの件数とずれているもののIDと実際の件数
+     */
+    @Query(value = "SELECT b.id, (SELECT COUNT(*) FROM blog_likes l WHERE l.blog_id = b.id) FROM blogs b "
+            + "WHERE b.id IN (:ids) AND b.like_count <> (SELECT COUNT(*) FROM blog_likes l WHERE l.blog_id = b.id)",
+            nativeQuery = true)
+    List<Object[]> findLikeCountDrift(@Param("ids") Collection<String> ids);
+
+    /**
+     * 指定したブログのうち、コメント数がcommentsの件数とずれているもののIDと実際の件数
+     */
+    @Query(value = "SELECT b.id, (SELECT COUNT(*) FROM comments c WHERE c.blog_id = b.id) FROM blogs b "
+            + "WHERE b.id IN (:ids) AND b.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.blog_id = b.id)",
+            nativeQuery = true)
+    List<Object[]> findCommentCountDrift(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE Blog b SET b.likeCount = :count WHERE b.id = :blogId")
+    int setLikeCount(@Param("blogId") String blogId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Blog b SET b.commentCount = :count WHERE b.id = :blogId")
+    int setCommentCount(@Param("blogId") String blogId, @Param("count") int count);
+
+    @Query("SELECT b FROM Blog b ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPage(Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") String id,
+                             Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.userId = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPageByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT b FROM Blog b WHERE b.userId = :userId "
+            + "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findPageByUserIdAfter(@Param("userId") String userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") String id,
+                                     Pageable pageable);
+
+    /**
+     * 本文が生成時点から変わっていない場合のみタグ生成状態を更新する
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Blog b SET b.tagStatus = :status WHERE b.id = :blogId AND b.content = :content")
+    int updateTagStatusIfContentMatches(@Param("blogId") String blogId,
+                                        @Param("content") String content,
+                                        @Param("status") TagStatus status);
 }
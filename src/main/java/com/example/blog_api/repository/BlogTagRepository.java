@@ -2,17 +2,20 @@ package com.example.blog_api.repository;
 
 import com.example.blog_api.dto.BlogTag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BlogTagRepository extends JpaRepository<BlogTag, String> {
+public interface BlogTagRepository extends JpaRepository<BlogTag, String>, BlogTagRepositoryCustom {
     List<BlogTag> findByBlogId(String blogId);
     List<BlogTag> findByTagId(String tagId);
-    
-    @Query("SELECT bt.blogId FROM BlogTag bt WHERE bt.tagId IN :tagIds GROUP BY bt.blogId")
-    List<String> findBlogIdsByTagIds(@Param("tagIds") List<String> tagIds);
+
+    @Modifying
+    @Query("DELETE FROM BlogTag bt WHERE bt.blogId = :blogId AND bt.tagId IN :tagIds")
+    int deleteByBlogIdAndTagIdIn(@Param("blogId") String blogId, @Param("tagIds") Collection<String> tagIds);
 }
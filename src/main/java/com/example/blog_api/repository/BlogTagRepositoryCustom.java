@@ -0,0 +1,20 @@
+package com.example.blog_api.repository;
+
+import com.example.blog_api.dto.BlogSearchSort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BlogTagRepositoryCustom {
+
+    /**
+     * 検索語ごとのタグIDに一致するブログIDを、一致した検索語の数が多い順に取得
+     * @param termTagIds 検索語ごとの、部分一致したタグIDの集合（空の集合を含まないこと）
+     * @param matchAll trueの場合は全ての検索語に一致するブログのみ
+     */
+    List<String> searchBlogIds(List<? extends Collection<String>> termTagIds,
+                               boolean matchAll,
+                               BlogSearchSort sort,
+                               int offset,
+                               int limit);
+}
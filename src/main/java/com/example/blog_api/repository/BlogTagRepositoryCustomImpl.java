@@ -0,0 +1,64 @@
+package com.example.blog_api.repository;
+
+import com.example.blog_api.dto.BlogSearchSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 検索語の数に応じて集計式を組み立てるため、タグ検索はSQLを動的に生成する
+ */
+public class BlogTagRepositoryCustomImpl implements BlogTagRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> searchBlogIds(List<? extends Collection<String>> termTagIds,
+                                      boolean matchAll,
+                                      BlogSearchSort sort,
+                                      int offset,
+                                      int limit) {
+        if (termTagIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 検索語ごとのタグIDを1度ずつ渡して (タグID, 検索語の番号) の組を作り、
+        // ブログごとに一致した検索語の数を1回だけ集計して絞り込みと並び替えに使う
+        StringJoiner terms = new StringJoiner(" UNION ALL ");
+        for (int i = 0; i < termTagIds.size(); i++) {
+            terms.add("SELECT tg.id AS tag_id, " + i + " AS term FROM tags tg WHERE tg.id IN (:tagIds" + i + ")");
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT m.blog_id FROM (")
+                .append("SELECT bt.blog_id, COUNT(DISTINCT t.term) AS score")
+                .append(" FROM blog_tags bt JOIN (").append(terms).append(") t ON t.tag_id = bt.tag_id")
+                .append(" GROUP BY bt.blog_id")
+                .append(") m JOIN blogs b ON b.id = m.blog_id");
+        if (matchAll) {
+            sql.append(" WHERE m.score = :termCount");
+        }
+        sql.append(" ORDER BY m.score DESC");
+        if (sort == BlogSearchSort.LIKES) {
+            sql.append(", b.like_count DESC");
+        }
+        sql.append(", b.created_at DESC, m.blog_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), String.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        for (int i = 0; i < termTagIds.size(); i++) {
+            query.setParameter("tagIds" + i, termTagIds.get(i));
+        }
+        if (matchAll) {
+            query.setParameter("termCount", termTagIds.size());
+        }
+        return query.getResultList();
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.blog_api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.blog_api.dto.CommentLike;
@@ -12,5 +18,28 @@ import com.example.blog_api.dto.CommentLike;
 public interface CommentLikeRepository extends JpaRepository<CommentLike, String> {
     List<CommentLike> findByCommentId(String commentId);
     Optional<CommentLike> findByCommentIdAndUserId(String commentId, String userId);
-    void deleteByCommentIdAndUserId(String commentId, String userId);
+
+    @Modifying
+    @Query("DELETE FROM CommentLike l WHERE l.commentId = :commentId AND l.userId = :userId")
+    int deleteByCommentIdAndUserId(@Param("commentId") String commentId, @Param("userId") String userId);
+
+    @Query("SELECT l.commentId FROM CommentLike l WHERE l.userId = :userId")
+    List<String> findCommentIdsByUserId(@Param("userId") String userId);
+
+    @Query("SELECT l.commentId FROM CommentLike l WHERE l.userId = :userId AND l.commentId IN :commentIds")
+    List<String> findCommentIdsByUserIdAndCommentIdIn(@Param("userId") String userId,
+                                                      @Param("commentIds") Collection<String> commentIds);
+
+    long countByUserId(String userId);
+
+    @Query("SELECT l FROM CommentLike l WHERE l.commentId = :commentId ORDER BY l.createdAt DESC, l.id DESC")
+    List<CommentLike> findPageByCommentId(@Param("commentId") String commentId, Pageable pageable);
+
+    @Query("SELECT l FROM CommentLike l WHERE l.commentId = :commentId "
+            + "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) "
+            + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<CommentLike> findPageByCommentIdAfter(@Param("commentId") String commentId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") String id,
+                                               Pageable pageable);
 }
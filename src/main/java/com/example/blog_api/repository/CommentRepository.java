@@ -1,8 +1,14 @@
 package com.example.blog_api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.blog_api.dto.Comment;
@@ -10,5 +16,50 @@ import com.example.blog_api.dto.Comment;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, String>{
     List<Comment> findByBlogId(String blogId);
-    
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id = :id")
+    int deleteCommentById(@Param("id") String id);
+
+    /**
+     * いいね数を加算（負にはしない）
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.likeCount = c.likeCount + :delta WHERE c.id = :commentId AND c.likeCount + :delta >= 0")
+    int addLikeCount(@Param("commentId") String commentId, @Param("delta") int delta);
+
+    /**
+     * IDの昇順で指定したIDより後のコメントIDを取得（カウンターの再計算を区切って進めるため）
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.id > :after ORDER BY c.id")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * 指定したコメントの行ロックを取得
+     */
+    @Query(value = "SELECT id FROM comments WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<String> lockByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * 指定したコメントのうち、いいね数がcomment_likesの件数とずれているもののIDと実際の件数
+     */
+    @Query(value = "SELECT c.id, (SELECT COUNT(*) FROM comment_likes l WHERE l.comment_id = c.id) FROM comments c "
+            + "WHERE c.id IN (:ids) AND c.like_count <> (SELECT COUNT(*) FROM comment_likes l WHERE l.comment_id = c.id)",
+            nativeQuery = true)
+    List<Object[]> findLikeCountDrift(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.likeCount = :count WHERE c.id = :commentId")
+    int setLikeCount(@Param("commentId") String commentId, @Param("count") int count);
+
+    @Query("SELECT c FROM Comment c WHERE c.blogId = :blogId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByBlogId(@Param("blogId") String blogId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.blogId = :blogId "
+            + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByBlogIdAfter(@Param("blogId") String blogId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") String id,
+                                        Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.example.blog_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.blog_api.dto.ImageCleanupTask;
+
+@Repository
+public interface ImageCleanupTaskRepository extends JpaRepository<ImageCleanupTask, String> {
+    List<ImageCleanupTask> findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(LocalDateTime now, Pageable pageable);
+
+    boolean existsByImageUrl(String imageUrl);
+}
@@ -0,0 +1,23 @@
+package com.example.blog_api.repository;
+
+import com.example.blog_api.dto.TagGenerationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TagGenerationCacheRepository extends JpaRepository<TagGenerationCacheEntry, String> {
+
+    /**
+     * 指定日時より前に保存されたキャッシュを削除
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TagGenerationCacheEntry e WHERE e.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
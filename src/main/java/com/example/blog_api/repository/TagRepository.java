@@ -4,6 +4,8 @@ import com.example.blog_api.dto.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +14,8 @@ public interface TagRepository extends JpaRepository<Tag, String> {
     Optional<Tag> findByName(String name);
     
     List<Tag> findByNameContaining(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    List<Tag> findByCreatedAtGreaterThanEqual(LocalDateTime createdAt);
 }
@@ -2,11 +2,27 @@ package com.example.blog_api.repository;
 
 import com.example.blog_api.dto.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByName(String name);
+
+    /**
+     * いずれかのサイズのアイコンとして使用中か
+     */
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.iconUrl = :url OR u.iconSmallUrl = :url OR u.iconMediumUrl = :url")
+    boolean isIconReferenced(@Param("url") String url);
+
+    /**
+     * 指定したURLのうち、いずれかのサイズのアイコンとして使用中のものを持つユーザー
+     */
+    @Query("SELECT u FROM User u WHERE u.iconUrl IN :urls OR u.iconSmallUrl IN :urls OR u.iconMediumUrl IN :urls")
+    List<User> findByAnyIconUrlIn(@Param("urls") Collection<String> urls);
 }
@@ -1,19 +1,18 @@
 package com.example.blog_api.security;
 
 import com.example.blog_api.exception.UnauthorizedException;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
 
 @Component
 public class AuthenticationHelper {
 
-    private final JwtUtil jwtUtil;
-
-    public AuthenticationHelper(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
-    }
-
     /**
      * 現在の認証ユーザーのユーザー名を取得
      */
@@ -27,15 +26,37 @@ public class AuthenticationHelper {
 
     /**
      * 現在の認証ユーザーのユーザーIDを取得
-     * リクエストヘッダーからJWTトークンを解析して取得
+     * JwtRequestFilterが検証済みのクレームをリクエストに保持している場合のみ認証済みとする
+     * （無効化されたトークンや削除済みユーザーのトークンはフィルターで除外され、クレームが無い）
      */
     public String getCurrentUserId(String authorizationHeader) {
-        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+        if (JwtRequestFilter.bearerToken(authorizationHeader).isEmpty()) {
             throw new UnauthorizedException("Authorization header is missing or invalid");
         }
-        
-        String token = authorizationHeader.substring(7);
-        return jwtUtil.extractUserId(token);
+
+        Claims claims = verifiedClaims();
+        if (claims == null) {
+            throw new UnauthorizedException("Token is invalid or has been revoked");
+        }
+        return JwtUtil.userIdOf(claims);
+    }
+
+    /**
+     * 認証済みの場合はユーザーIDを取得（未ログインまたはトークンが不正な場合は空）
+     * 認証が任意の公開エンドポイントで、閲覧者に応じた情報を付けるために使う
+     */
+    public Optional<String> findCurrentUserId() {
+        Claims claims = verifiedClaims();
+        return claims == null ? Optional.empty() : Optional.ofNullable(JwtUtil.userIdOf(claims));
+    }
+
+    private Claims verifiedClaims() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object claims = attributes.getAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return claims instanceof Claims ? (Claims) claims : null;
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.example.blog_api.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.security.Principal;
+
+/**
+ * 署名検証済みのJWTクレームから組み立てる認証ユーザー
+ * DBのユーザー情報は参照しない
+ */
+public record JwtPrincipal(String userId, String name) implements Principal {
+
+    /**
+     * クレームから認証ユーザーを生成（ユーザーIDまたはユーザー名が無い場合はnull）
+     */
+    public static JwtPrincipal from(Claims claims) {
+        String userId = JwtUtil.userIdOf(claims);
+        String name = claims.getSubject();
+        if (userId == null || name == null) {
+            return null;
+        }
+        return new JwtPrincipal(userId, name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
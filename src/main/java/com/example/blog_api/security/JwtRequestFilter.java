@@ -1,58 +1,85 @@
 package com.example.blog_api.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    /** 検証済みのJWTクレームを保持するリクエスト属性名 */
+    public static final String CLAIMS_ATTRIBUTE = JwtRequestFilter.class.getName() + ".claims";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final Optional<UserExistenceCache> userExistenceCache;
 
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
-        this.userDetailsService = userDetailsService;
+    public JwtRequestFilter(JwtUtil jwtUtil,
+                            TokenRevocationList revocationList,
+                            Optional<UserExistenceCache> userExistenceCache) {
         this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
+        this.userExistenceCache = userExistenceCache;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        final String authorizationHeader = request.getHeader("Authorization");
+        final Optional<String> token = bearerToken(request.getHeader("Authorization"));
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (token.isPresent()) {
             try {
-                username = jwtUtil.extractUsername(jwt);
+                claims = jwtUtil.verify(token.get());
+                if (revocationList.isRevoked(claims.getId())) {
+                    claims = null;
+                }
             } catch (Exception e) {
                 logger.error("JWT Token extraction failed", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        // ユーザー情報はDBから読み込まず、署名検証済みのクレームから組み立てる
+        JwtPrincipal principal = claims != null ? JwtPrincipal.from(claims) : null;
+
+        if (principal != null && userExistenceCache.map(cache -> cache.exists(principal.userId())).orElse(true)) {
+            // 検証を全て通ったクレームのみを保持する（AuthenticationHelperはこれが無いリクエストを未認証として扱う）
+            request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
                 UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * AuthorizationヘッダーからBearerトークンを取り出す（ヘッダーが無い・Bearer形式でない場合は空）
+     */
+    public static Optional<String> bearerToken(String authorizationHeader) {
+        if (authorizationHeader == null
+                || !authorizationHeader.startsWith(BEARER_PREFIX)
+                || authorizationHeader.length() == BEARER_PREFIX.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(authorizationHeader.substring(BEARER_PREFIX.length()));
+    }
 }
@@ -1,29 +1,68 @@
 package com.example.blog_api.security;
 
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    /** 検証済みトークンのクレーム（キーはトークンのSHA-256、トークンの有効期限まで保持） */
+    private final BoundedTtlCache<String, Claims> verifiedClaims;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize,
+                   MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedClaims = new BoundedTtlCache<>(verifiedCacheMaxSize, expiration);
+        CacheMetrics.bind(meterRegistry, "jwtClaims", verifiedClaims);
+    }
+
+    /**
+     * トークンの署名と有効期限を検証してクレームを取得
+     * 検証済みのトークンはキャッシュから返し、再度の解析・署名検証を行わない
+     * @throws io.jsonwebtoken.JwtException トークンが不正または期限切れの場合
+     */
+    public Claims verify(String token) {
+        String key = tokenHash(token);
+        Claims cached = verifiedClaims.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            verifiedClaims.put(key, claims, exp.getTime());
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -31,7 +70,7 @@ public class JwtUtil {
     }
 
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return extractClaim(token, JwtUtil::userIdOf);
     }
 
     public Date extractExpiration(String token) {
@@ -39,20 +78,14 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsResolver.apply(verify(token));
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * クレームからユーザーIDを取得
+     */
+    public static String userIdOf(Claims claims) {
+        return claims.get("userId", String.class);
     }
 
     public String generateToken(String username, String userId) {
@@ -64,15 +97,33 @@ public class JwtUtil {
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * アクセストークンの有効期間
+     */
+    public Duration getAccessTokenTtl() {
+        return Duration.ofMillis(expiration);
+    }
+
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        Claims claims = verify(token);
+        return username.equals(claims.getSubject()) && claims.getExpiration().after(new Date());
+    }
+
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.blog_api.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,14 +9,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String PASSWORD_ENCODING_ID = "bcrypt";
+
     private final JwtRequestFilter jwtRequestFilter;
 
     public SecurityConfig(JwtRequestFilter jwtRequestFilter) {
@@ -31,12 +38,13 @@ public class SecurityConfig {
                         .contentSecurityPolicy(csp -> csp.policyDirectives("default-src 'self'"))
                 )
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/login").permitAll()
+                        .requestMatchers("/auth/login", "/auth/refresh").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/users").permitAll()
                         
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/blogs/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/comments/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/users/{userId}/blogs").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/images/**").permitAll()
                         
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/openapi/**").permitAll()
                         
@@ -50,9 +58,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * 新しいハッシュは "{bcrypt}" 接頭辞付きで security.password.bcrypt-strength のコストで生成する
+     * 接頭辞の無い既存のハッシュも照合でき、ログイン時に現在の方式で再ハッシュされる
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:12}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PASSWORD_ENCODING_ID, new BCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(PASSWORD_ENCODING_ID, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 
     @Bean
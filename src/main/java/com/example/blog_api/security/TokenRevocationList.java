@@ -0,0 +1,137 @@
+package com.example.blog_api.security;
+
+import com.example.blog_api.cache.BloomFilter;
+import com.example.blog_api.dto.RevokedToken;
+import com.example.blog_api.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 有効期限前に無効化されたアクセストークン（jti）のメモリ上の一覧
+ * ほとんどのトークンはブルームフィルタで「失効していない」と判定でき、
+ * 偽陽性の場合のみjtiの集合で確認する
+ * 他のノードで無効化されたトークンはDBを定期的に読み込んで反映する
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    /** コミットの遅れで読み込み漏れが起きないよう、前回の読み込み時刻より少し前から読み直す */
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedSize;
+
+    /** jti → 有効期限 */
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    /** 読み込み済みの最新のrevoked_at */
+    private LocalDateTime watermark;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expected-size:10000}") int expectedSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedSize = expectedSize;
+        this.filter = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * jtiが無効化されているか
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * トークンを無効化し、DBに記録して他のノードにも反映させる
+     */
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || revokedTokenRepository.existsById(jti)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        add(jti, expiresAt);
+    }
+
+    /**
+     * 前回以降に無効化されたトークンを読み込み、期限切れのトークンを取り除く
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT5S}")
+    public synchronized void poll() {
+        try {
+            LocalDateTime since = watermark;
+            List<RevokedToken> tokens = since == null
+                    ? revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())
+                    : revokedTokenRepository.findByRevokedAtGreaterThanEqual(since.minus(POLL_OVERLAP));
+            addAll(tokens);
+            purgeExpired();
+        } catch (RuntimeException e) {
+            log.warn("失効トークンの読み込みに失敗しました", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${jwt.revocation.cleanup-interval:PT1H}",
+               fixedDelayString = "${jwt.revocation.cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("期限切れの失効トークンを削除しました: {}件", deleted);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void addAll(Collection<RevokedToken> tokens) {
+        for (RevokedToken token : tokens) {
+            add(token.getJti(), token.getExpiresAt());
+            if (watermark == null || token.getRevokedAt().isAfter(watermark)) {
+                watermark = token.getRevokedAt();
+            }
+        }
+        if (watermark == null) {
+            watermark = LocalDateTime.now();
+        }
+    }
+
+    private void add(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.add(jti);
+    }
+
+    /**
+     * 期限切れのjtiを取り除き、ブルームフィルタを作り直す
+     * 期限切れのトークンは署名検証の時点で拒否されるため、一覧に残す必要は無い
+     */
+    private void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, revoked.size()), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // 作り直している間に追加されたjtiを反映
+        revoked.keySet().forEach(rebuilt::add);
+    }
+}
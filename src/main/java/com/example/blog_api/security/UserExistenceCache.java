@@ -0,0 +1,55 @@
+package com.example.blog_api.security;
+
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
+import com.example.blog_api.repository.UserRepository;
+import com.example.blog_api.service.UserDeletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * JWTのユーザーが存在するかを短時間キャッシュして判定する
+ * 削除済みユーザーのトークンを有効期限前に拒否したい場合に有効にする
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.user-check.enabled", havingValue = "true")
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, Boolean> existence;
+
+    public UserExistenceCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.user-check.max-size:10000}") int maxSize,
+                              @Value("${jwt.user-check.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.existence = new BoundedTtlCache<>(maxSize, ttl.toMillis());
+        CacheMetrics.bind(meterRegistry, "jwtUserExistence", existence);
+    }
+
+    /**
+     * ユーザーが存在するか（キャッシュの有効期間内はDBを参照しない）
+     */
+    public boolean exists(String userId) {
+        Boolean cached = existence.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = userRepository.existsById(userId);
+        existence.put(userId, exists);
+        return exists;
+    }
+
+    /**
+     * ユーザー削除のコミット後に、削除されたユーザーを即座に拒否する
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        existence.put(event.getUserId(), false);
+    }
+}
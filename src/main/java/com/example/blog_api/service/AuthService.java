@@ -6,36 +6,89 @@ import com.example.blog_api.dto.User;
 import com.example.blog_api.exception.InvalidCredentialsException;
 import com.example.blog_api.repository.UserRepository;
 import com.example.blog_api.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.blog_api.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
 
-    public AuthService(UserRepository userRepository, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository,
+                       JwtUtil jwtUtil,
+                       PasswordHashingService passwordHashingService,
+                       LoginAttemptLimiter loginAttemptLimiter,
+                       RefreshTokenService refreshTokenService,
+                       TokenRevocationList revocationList) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.revocationList = revocationList;
     }
 
-    public LoginResponse login(LoginRequest request) {
-        User user = userRepository.findByName(request.getName())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
+    public LoginResponse login(LoginRequest request, String clientAddress) {
+        loginAttemptLimiter.checkAllowed(request.getName(), clientAddress);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        User user = userRepository.findByName(request.getName()).orElse(null);
+        if (user == null || !passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            loginAttemptLimiter.recordFailure(request.getName());
             throw new InvalidCredentialsException("Invalid username or password");
         }
+        loginAttemptLimiter.recordSuccess(request.getName());
+
+        // 古い方式・コストのハッシュは、平文のパスワードが手元にあるログイン時に置き換える
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            userRepository.save(user);
+        }
 
-        String token = jwtUtil.generateToken(user.getName(), user.getId());
+        return issueTokens(user);
+    }
+
+    /**
+     * リフレッシュトークンを使用済みにして、新しいアクセストークンとリフレッシュトークンを発行
+     */
+    public LoginResponse refresh(String refreshToken) {
+        String userId = refreshTokenService.consume(refreshToken);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
+        return issueTokens(user);
+    }
 
+    /**
+     * アクセストークンを失効リストに登録し、リフレッシュトークンを無効化
+     */
+    public void logout(String accessToken, String refreshToken) {
+        try {
+            Claims claims = jwtUtil.verify(accessToken);
+            LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+            revocationList.revoke(claims.getId(), expiresAt);
+        } catch (JwtException e) {
+            // 既に期限切れ・不正なトークンは失効させる必要が無い
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    private LoginResponse issueTokens(User user) {
         LoginResponse response = new LoginResponse();
-        response.setToken(token);
+        response.setToken(jwtUtil.generateToken(user.getName(), user.getId()));
+        response.setRefreshToken(refreshTokenService.issue(user.getId()));
         response.setUserId(user.getId());
-
+        response.setExpiresAt(LocalDateTime.now().plus(jwtUtil.getAccessTokenTtl()));
         return response;
     }
 }
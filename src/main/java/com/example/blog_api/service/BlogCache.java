@@ -0,0 +1,135 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
+import com.example.blog_api.dto.Blog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * ブログのリードスルーキャッシュ（キーはブログID）
+ * 1段目は有効期間の短い小さなキャッシュ、2段目は有効期間の長い大きなキャッシュ（無効にできる）
+ * 2段目は複数インスタンスで共有するキャッシュ（Redis等）の代わりで、置き換える場合もこのクラスの中で閉じる
+ * いいね数・コメント数は別の経路で加算され、加算のたびにはキャッシュを削除しないため古い値を返すことがある
+ * 古さの上限は1段目の有効期間（blogs.cache.near.ttl）、2段目を有効にした場合は2段目の有効期間（blogs.cache.shared.ttl、デフォルト60秒）
+ *
+ * 格納するのは読み込んだエンティティの複製で、呼び出し元にも毎回複製を返す
+ * 永続化コンテキストが管理するインスタンスを共有すると、コミット前の変更が他のスレッドから見えてしまうため
+ */
+@Component
+public class BlogCache {
+
+    private final BoundedTtlCache<String, Blog> near;
+    private final BoundedTtlCache<String, Blog> shared;
+
+    /** 読み込み中のブログ（同じブログの同時のキャッシュミスで読み込みを1回にまとめる） */
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<Blog>>> loading = new ConcurrentHashMap<>();
+
+    public BlogCache(MeterRegistry meterRegistry,
+                     @Value("${blogs.cache.near.max-size:10000}") int nearMaxSize,
+                     @Value("${blogs.cache.near.ttl:5s}") Duration nearTtl,
+                     @Value("${blogs.cache.shared.enabled:false}") boolean sharedEnabled,
+                     @Value("${blogs.cache.shared.max-size:100000}") int sharedMaxSize,
+                     @Value("${blogs.cache.shared.ttl:60s}") Duration sharedTtl) {
+        this.near = new BoundedTtlCache<>(nearMaxSize, nearTtl.toMillis());
+        CacheMetrics.bind(meterRegistry, "blogsNear", near);
+        if (sharedEnabled) {
+            this.shared = new BoundedTtlCache<>(sharedMaxSize, sharedTtl.toMillis());
+            CacheMetrics.bind(meterRegistry, "blogsShared", shared);
+        } else {
+            this.shared = null;
+        }
+    }
+
+    /**
+     * キャッシュから取得し、無い場合はloaderで読み込んで格納する
+     * @return 呼び出しごとの複製（変更してもキャッシュには影響しない）
+     */
+    public Optional<Blog> get(String blogId, Function<String, Optional<Blog>> loader) {
+        Blog cached = near.get(blogId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        if (shared != null) {
+            cached = shared.get(blogId);
+            if (cached != null) {
+                near.put(blogId, cached);
+                return Optional.of(copyOf(cached));
+            }
+        }
+
+        CompletableFuture<Optional<Blog>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<Blog>> inFlight = loading.putIfAbsent(blogId, future);
+        if (inFlight != null) {
+            return await(inFlight).map(BlogCache::copyOf);
+        }
+
+        try {
+            Optional<Blog> snapshot = loader.apply(blogId).map(BlogCache::copyOf);
+            snapshot.ifPresent(blog -> {
+                near.put(blogId, blog);
+                if (shared != null) {
+                    shared.put(blogId, blog);
+                }
+            });
+            future.complete(snapshot);
+            return snapshot.map(BlogCache::copyOf);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(blogId, future);
+        }
+    }
+
+    /**
+     * ブログをキャッシュから削除
+     * トランザクション中の場合はコミット後にも削除し、コミット前に読み込まれた古い値を残さない
+     */
+    public void invalidate(String blogId) {
+        evict(blogId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(blogId);
+                }
+            });
+        }
+    }
+
+    private void evict(String blogId) {
+        near.invalidate(blogId);
+        if (shared != null) {
+            shared.invalidate(blogId);
+        }
+    }
+
+    private static Blog copyOf(Blog blog) {
+        Blog copy = new Blog(blog.getId(), blog.getUserId(), blog.getContent(), blog.getLikeCount(),
+                blog.getCommentCount(), blog.getCreatedAt(), blog.getUpdatedAt());
+        copy.setTagStatus(blog.getTagStatus());
+        return copy;
+    }
+
+    private static Optional<Blog> await(CompletableFuture<Optional<Blog>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
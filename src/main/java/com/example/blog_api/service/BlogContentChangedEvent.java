@@ -0,0 +1,24 @@
+package com.example.blog_api.service;
+
+/**
+ * ブログ本文が作成・更新されたことを通知するイベント
+ * コミット後にタグ生成パイプラインが受け取り、バックグラウンドでタグを生成する
+ */
+public class BlogContentChangedEvent {
+
+    private final String blogId;
+    private final String content;
+
+    public BlogContentChangedEvent(String blogId, String content) {
+        this.blogId = blogId;
+        this.content = content;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.BlogDetail;
+import com.example.blog_api.dto.Comment;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.dto.UserSummary;
+import com.example.blog_api.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * ブログの表示に必要な情報（本文・タグ・コメントの先頭ページ・投稿者・いいね済みか）を1回で取得する
+ * ブログの取得後、互いに依存しない取得を専用のワーカープールで並行して実行する
+ */
+@Service
+public class BlogDetailService {
+
+    /** 混雑時に再試行を促すまでの秒数 */
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final BlogService blogService;
+    private final CommentService commentService;
+    private final UserSummaryService userSummaryService;
+    private final UserLikeIndex userLikeIndex;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    public BlogDetailService(BlogService blogService,
+                             CommentService commentService,
+                             UserSummaryService userSummaryService,
+                             UserLikeIndex userLikeIndex,
+                             @Qualifier("blogDetailExecutor") ThreadPoolTaskExecutor executor,
+                             @Value("${blogs.detail.timeout:3s}") Duration timeout) {
+        this.blogService = blogService;
+        this.commentService = commentService;
+        this.userSummaryService = userSummaryService;
+        this.userLikeIndex = userLikeIndex;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param viewerId 閲覧者のユーザーID（未ログインの場合はnull）
+     * @param commentSize コメントの先頭ページの件数（省略時はデフォルトのページサイズ）
+     */
+    public BlogDetail getBlogDetail(String blogId, String viewerId, Integer commentSize) {
+        // 存在しないブログの場合は他の取得を始めずに404を返す
+        Blog blog = blogService.getBlogById(blogId);
+
+        CompletableFuture<List<Tag>> tags = supply(() -> blogService.getTagsForBlog(blogId));
+        CompletableFuture<CursorPage<Comment>> comments =
+                supply(() -> commentService.searchCommentByBlogId(blogId, null, commentSize));
+        CompletableFuture<UserSummary> author = supply(() -> userSummaryService.getSummary(blog.getUserId())
+                .orElse(null));
+        CompletableFuture<Boolean> liked = viewerId == null
+                ? CompletableFuture.completedFuture(null)
+                : supply(() -> !userLikeIndex.likedBlogIds(viewerId, List.of(blogId)).isEmpty());
+
+        await(CompletableFuture.allOf(tags, comments, author, liked), tags, comments, author, liked);
+
+        CursorPage<Comment> commentPage = comments.join();
+        return new BlogDetail(blog, tags.join(), commentPage.getItems(), commentPage.getNextCursor(),
+                author.join(), liked.join());
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private void await(CompletableFuture<Void> all, CompletableFuture<?>... parts) {
+        try {
+            all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            for (CompletableFuture<?> part : parts) {
+                part.cancel(true);
+            }
+            throw new TooManyRequestsException("Server is busy. Please retry later", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading blog detail", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to load blog detail", e.getCause());
+        }
+    }
+}
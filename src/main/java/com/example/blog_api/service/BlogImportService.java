@@ -0,0 +1,181 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.BlogCreateRequest;
+import com.example.blog_api.dto.BlogImportResponse;
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ブログの一括登録と、Gemini APIの一括呼び出しによるタグ生成ジョブ
+ */
+@Service
+public class BlogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogImportService.class);
+
+    private final BlogRepository blogRepository;
+    private final TagService tagService;
+    private final TagGenerationService tagGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor tagBatchExecutor;
+    private final BlogCache blogCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tag-generation.batch.size:20}")
+    private int batchSize;
+
+    public BlogImportService(BlogRepository blogRepository,
+                             TagService tagService,
+                             TagGenerationService tagGenerationService,
+                             ApplicationEventPublisher eventPublisher,
+                             @Qualifier("tagBatchExecutor") TaskExecutor tagBatchExecutor,
+                             BlogCache blogCache,
+                             PlatformTransactionManager transactionManager) {
+        this.blogRepository = blogRepository;
+        this.tagService = tagService;
+        this.tagGenerationService = tagGenerationService;
+        this.eventPublisher = eventPublisher;
+        this.tagBatchExecutor = tagBatchExecutor;
+        this.blogCache = blogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // コミット後のリスナーから呼ばれた場合も、完了済みのトランザクションに参加せず新しく開始する
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * ブログを一括登録し、コミット後にタグ生成ジョブを開始
+     */
+    @Transactional
+    public BlogImportResponse importBlogs(String userId, List<BlogCreateRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Blog> blogs = new ArrayList<>(requests.size());
+        for (BlogCreateRequest request : requests) {
+            Blog blog = new Blog();
+            blog.setUserId(userId);
+            blog.setContent(request.getContent());
+            blog.setTagStatus(TagStatus.PENDING);
+            blog.setCreatedAt(now);
+            blog.setUpdatedAt(now);
+            blogs.add(blog);
+        }
+
+        List<String> blogIds = blogRepository.saveAll(blogs).stream()
+                .map(Blog::getId)
+                .toList();
+
+        eventPublisher.publishEvent(new BlogsImportedEvent(blogIds));
+        return new BlogImportResponse(blogIds.size(), blogIds);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBlogsImported(BlogsImportedEvent event) {
+        generateTags(event.getBlogIds());
+    }
+
+    /**
+     * 指定したブログのタグをバッチ単位で生成
+     * 各バッチはtagBatchExecutor上で並行に処理される
+     * キューが溢れた場合は呼び出し元スレッドで生成せず、そのバッチのブログをFAILEDにする
+     */
+    public void generateTags(List<String> blogIds) {
+        for (int from = 0; from < blogIds.size(); from += batchSize) {
+            List<String> batch = List.copyOf(blogIds.subList(from, Math.min(from + batchSize, blogIds.size())));
+            try {
+                tagBatchExecutor.execute(() -> processBatch(batch));
+            } catch (TaskRejectedException e) {
+                log.warn("一括タグ生成のキューが溢れたため生成を見送りました: blogIds={}", batch);
+                markFailed(batch);
+            }
+        }
+    }
+
+    /**
+     * 1バッチ分のタグを生成して登録
+     * 生成に失敗した場合は、単独の投稿と同じくバッチ内の全てのブログをFAILEDにする
+     * （一部の記事だけ生成できなかった場合は、その記事のみFAILEDにする）
+     */
+    private void processBatch(List<String> blogIds) {
+        List<Blog> blogs;
+        try {
+            blogs = blogRepository.findByIdIn(blogIds);
+        } catch (RuntimeException e) {
+            log.error("一括タグ生成の対象を読み込めませんでした: blogIds={}", blogIds, e);
+            return;
+        }
+        if (blogs.isEmpty()) {
+            return;
+        }
+
+        List<List<String>> tags;
+        try {
+            tags = tagGenerationService.generateTagsBatch(blogs.stream().map(Blog::getContent).toList());
+        } catch (RuntimeException e) {
+            log.error("一括タグ生成に失敗しました: blogIds={}", blogIds, e);
+            blogs.forEach(this::markFailed);
+            return;
+        }
+
+        for (int i = 0; i < blogs.size(); i++) {
+            Blog blog = blogs.get(i);
+            List<String> blogTags = tags.get(i);
+            if (blogTags == null) {
+                log.warn("タグを生成できませんでした: blogId={}", blog.getId());
+                markFailed(blog);
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int updated = blogRepository.updateTagStatusIfContentMatches(
+                            blog.getId(), blog.getContent(), TagStatus.READY);
+                    if (updated > 0) {
+                        tagService.associateTagsWithBlog(blog.getId(), blogTags);
+                    }
+                });
+                blogCache.invalidate(blog.getId());
+            } catch (RuntimeException e) {
+                log.error("タグの登録に失敗しました: blogId={}", blog.getId(), e);
+                markFailed(blog);
+            }
+        }
+    }
+
+    private void markFailed(List<String> blogIds) {
+        try {
+            blogRepository.findByIdIn(blogIds).forEach(this::markFailed);
+        } catch (RuntimeException e) {
+            log.error("タグ生成状態の更新に失敗しました: blogIds={}", blogIds, e);
+        }
+    }
+
+    /**
+     * タグ生成状態をFAILEDにする（生成中に内容が更新されたブログは、更新後の生成に任せる）
+     */
+    private void markFailed(Blog blog) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> blogRepository.updateTagStatusIfContentMatches(
+                    blog.getId(), blog.getContent(), TagStatus.FAILED));
+            blogCache.invalidate(blog.getId());
+        } catch (RuntimeException e) {
+            log.error("タグ生成状態の更新に失敗しました: blogId={}", blog.getId(), e);
+        }
+    }
+}
@@ -3,39 +3,79 @@ package com.example.blog_api.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.blog_api.dto.BlogLike;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.exception.DuplicateResourceException;
 import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.BlogRepository;
 
 @Service
 public class BlogLikeService {
     private final BlogLikeRepository blogLikeRepository;
+    private final BlogRepository blogRepository;
+    private final PageSizePolicy pageSizePolicy;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BlogLikeService(BlogLikeRepository blogLikeRepository) {
+    public BlogLikeService(BlogLikeRepository blogLikeRepository,
+                           BlogRepository blogRepository,
+                           PageSizePolicy pageSizePolicy,
+                           ApplicationEventPublisher eventPublisher) {
         this.blogLikeRepository = blogLikeRepository;
+        this.blogRepository = blogRepository;
+        this.pageSizePolicy = pageSizePolicy;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<BlogLike> getLikesByBlogId(String blogId) {
-        return blogLikeRepository.findByBlogId(blogId);
+    /**
+     * ブログへのいいねを新しい順に取得
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnull）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BlogLike> getLikesByBlogId(String blogId, String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<BlogLike> rows = after == null
+                ? blogLikeRepository.findPageByBlogId(blogId, pageSizePolicy.lookahead(pageSize))
+                : blogLikeRepository.findPageByBlogIdAfter(blogId, after.getCreatedAt(), after.getId(),
+                        pageSizePolicy.lookahead(pageSize));
+        return PageCursor.toPage(rows, pageSize, BlogLike::getCreatedAt, BlogLike::getId);
     }
-    
+
+    /**
+     * いいねを登録し、ブログのいいね数を加算
+     * 事前に存在確認はせず、重複は一意制約違反として検出する
+     */
+    @Transactional
     public BlogLike createBlogLike(String blogId, String userId) {
-        if (blogLikeRepository.findByBlogIdAndUserId(blogId, userId).isPresent()) {
-            throw new DuplicateResourceException("既にこのブログにいいね済みです");
-        }
-        
         BlogLike blogLike = new BlogLike();
         blogLike.setBlogId(blogId);
         blogLike.setUserId(userId);
         blogLike.setCreatedAt(LocalDateTime.now());
-        return blogLikeRepository.save(blogLike);
+
+        BlogLike savedLike;
+        try {
+            savedLike = blogLikeRepository.saveAndFlush(blogLike);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("既にこのブログにいいね済みです");
+        }
+        blogRepository.addLikeCount(blogId, 1);
+        eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, blogId, userId, true));
+        return savedLike;
     }
-    
+
+    /**
+     * いいねを解除し、実際に削除できた場合のみブログのいいね数を減算
+     */
     @Transactional
     public void deleteBlogLike(String blogId, String userId) {
-        blogLikeRepository.deleteByBlogIdAndUserId(blogId, userId);
+        if (blogLikeRepository.deleteByBlogIdAndUserId(blogId, userId) > 0) {
+            blogRepository.addLikeCount(blogId, -1);
+            eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, blogId, userId, false));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.BlogLike;
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.BlogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ブログへのいいね登録・解除を受け付けてメモリに溜め、定期的にまとめてDBへ反映する
+ * 同じブログへの大量のいいねを1回のトランザクションと1回のlike_count更新にまとめ、行ロックの競合を避ける
+ *
+ * 受け付けた操作は応答前に追記ログへ書き込むため、プロセスが落ちても起動時に再生される
+ * ブログ・ユーザーの組ごとに最後の操作だけを保持し、反映時に既存のいいねと突き合わせるため一意制約は守られる
+ *
+ * 反映に失敗したブログは間隔を空けて再試行し、上限回数に達した操作は再生対象外のファイルへ退避する
+ * 再試行する操作は新しいセグメントへ書き直すため、古いセグメントは反映のたびに削除できる
+ */
+@Component
+@ConditionalOnProperty(name = "likes.write-behind.enabled", havingValue = "true")
+public class BlogLikeWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogLikeWriteBehindBuffer.class);
+
+    private static final String LIKE = "L";
+    private static final String UNLIKE = "U";
+    private static final char SEPARATOR = '\t';
+
+    /** 1回のIN句に含めるユーザー数 */
+    private static final int CHUNK_SIZE = 500;
+
+    private final BlogLikeRepository blogLikeRepository;
+    private final BlogRepository blogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LikeAppendLog appendLog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** ブログIDのハッシュで分割した、ブログID → (ユーザーID → いいね状態) */
+    private final List<Map<String, Map<String, Boolean>>> shards;
+
+    /** 操作の受付（ログ追記とメモリへの反映）と、反映のための取り出し・ログ切り替えを排他する */
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+
+    /** 閉じたが、まだDBへの反映が確定していないセグメント */
+    private final List<Path> unflushedSegments = new ArrayList<>();
+
+    /** 反映に失敗したブログの再試行状態（flushの中でのみ参照する） */
+    private final Map<String, Retry> retries = new HashMap<>();
+
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public BlogLikeWriteBehindBuffer(BlogLikeRepository blogLikeRepository,
+                                     BlogRepository blogRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${likes.write-behind.shards:16}") int shardCount,
+                                     @Value("${likes.write-behind.log-dir:data/like-log}") String logDir,
+                                     @Value("${likes.write-behind.fsync:true}") boolean fsync,
+                                     @Value("${likes.write-behind.initial-backoff:PT1S}") Duration initialBackoff,
+                                     @Value("${likes.write-behind.max-backoff:PT1M}") Duration maxBackoff,
+                                     @Value("${likes.write-behind.max-attempts:10}") int maxAttempts) {
+        this.blogLikeRepository = blogLikeRepository;
+        this.blogRepository = blogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appendLog = new LikeAppendLog(Path.of(logDir), fsync);
+        this.eventPublisher = eventPublisher;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new HashMap<>());
+        }
+        Gauge.builder("likes.write-behind.pending", this, BlogLikeWriteBehindBuffer::pendingCount)
+                .description("DBへの反映を待っているいいね操作の数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 前回の停止時に反映されなかった操作をログから再生
+     */
+    @PostConstruct
+    public void recover() {
+        int replayed = 0;
+        for (Path segment : appendLog.existingSegments()) {
+            for (String line : appendLog.read(segment)) {
+                String[] fields = line.split(String.valueOf(SEPARATOR));
+                if (fields.length != 3 || !(LIKE.equals(fields[0]) || UNLIKE.equals(fields[0]))) {
+                    log.warn("いいねログの不正な行を読み飛ばしました: {}", segment);
+                    continue;
+                }
+                put(fields[1], fields[2], LIKE.equals(fields[0]));
+                replayed++;
+            }
+            unflushedSegments.add(segment);
+        }
+        if (replayed > 0) {
+            log.info("いいねログから{}件の操作を再生しました", replayed);
+        }
+    }
+
+    /**
+     * いいね登録を受け付ける
+     */
+    public void like(String blogId, String userId) {
+        record(blogId, userId, true);
+    }
+
+    /**
+     * いいね解除を受け付ける
+     */
+    public void unlike(String blogId, String userId) {
+        record(blogId, userId, false);
+    }
+
+    private void record(String blogId, String userId, boolean liked) {
+        rotationLock.readLock().lock();
+        try {
+            appendLog.append(line(blogId, userId, liked));
+            put(blogId, userId, liked);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, blogId, userId, liked));
+    }
+
+    private void put(String blogId, String userId, boolean liked) {
+        Map<String, Map<String, Boolean>> shard = shardOf(blogId);
+        synchronized (shard) {
+            shard.computeIfAbsent(blogId, key -> new HashMap<>()).put(userId, liked);
+        }
+    }
+
+    /**
+     * 溜まった操作をブログごとのトランザクションでDBへ反映
+     * 反映できなかった操作は新しいセグメントへ書き直してから、それまでのログセグメントを削除する
+     */
+    @Scheduled(fixedDelayString = "${likes.write-behind.flush-interval:PT1S}")
+    public synchronized void flush() {
+        Map<String, Map<String, Boolean>> drained = new HashMap<>();
+        rotationLock.writeLock().lock();
+        try {
+            for (Map<String, Map<String, Boolean>> shard : shards) {
+                synchronized (shard) {
+                    drained.putAll(shard);
+                    shard.clear();
+                }
+            }
+            Path sealed = appendLog.rotate();
+            if (sealed != null) {
+                unflushedSegments.add(sealed);
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+
+        Instant now = Instant.now();
+        boolean relogged = true;
+        for (Map.Entry<String, Map<String, Boolean>> entry : drained.entrySet()) {
+            String blogId = entry.getKey();
+            Retry retry = retries.get(blogId);
+            if (retry != null && now.isBefore(retry.nextAttemptAt())) {
+                relogged &= requeue(blogId, entry.getValue());
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> flushBlog(blogId, entry.getValue()));
+                retries.remove(blogId);
+            } catch (RuntimeException e) {
+                relogged &= handleFailure(blogId, entry.getValue(), retry, now, e);
+            }
+        }
+
+        // 書き直しに失敗した操作は古いセグメントにしか残っていないため、次回まで削除しない
+        if (relogged && !unflushedSegments.isEmpty()) {
+            appendLog.delete(unflushedSegments);
+            unflushedSegments.clear();
+        }
+    }
+
+    /**
+     * 反映に失敗したブログを再試行に回す（上限回数に達した場合は退避して破棄する）
+     * @return 操作を失わずに処理できた場合はtrue
+     */
+    private boolean handleFailure(String blogId, Map<String, Boolean> states, Retry retry, Instant now,
+                                  RuntimeException e) {
+        int attempts = (retry == null ? 0 : retry.attempts()) + 1;
+        if (attempts >= maxAttempts) {
+            retries.remove(blogId);
+            List<String> lines = new ArrayList<>(states.size());
+            states.forEach((userId, liked) -> lines.add(line(blogId, userId, liked)));
+            try {
+                appendLog.deadLetter(lines);
+            } catch (RuntimeException deadLetterFailure) {
+                log.error("いいねの退避に失敗しました: blogId={}, operations={}", blogId, lines, deadLetterFailure);
+                return requeue(blogId, states);
+            }
+            log.error("いいねの反映を断念し、退避しました: blogId={}, operations={}, attempts={}",
+                    blogId, states.size(), attempts, e);
+            return true;
+        }
+        log.warn("いいねの反映に失敗したため再試行します: blogId={}, attempts={}", blogId, attempts, e);
+        retries.put(blogId, new Retry(attempts, now.plus(backoff(attempts))));
+        return requeue(blogId, states);
+    }
+
+    /**
+     * 再試行までの間隔（初回の間隔から倍々に延ばし、上限で打ち止め）
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void flushBlog(String blogId, Map<String, Boolean> states) {
+        List<String> likedUserIds = new ArrayList<>();
+        List<String> unlikedUserIds = new ArrayList<>();
+        states.forEach((userId, liked) -> (liked ? likedUserIds : unlikedUserIds).add(userId));
+
+        int delta = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (List<String> chunk : chunks(likedUserIds)) {
+            Set<String> existing = new HashSet<>(blogLikeRepository.findUserIdsByBlogIdAndUserIdIn(blogId, chunk));
+            List<BlogLike> newLikes = new ArrayList<>();
+            for (String userId : chunk) {
+                if (!existing.contains(userId)) {
+                    newLikes.add(new BlogLike(null, blogId, userId, now));
+                }
+            }
+            blogLikeRepository.saveAll(newLikes);
+            delta += newLikes.size();
+        }
+        for (List<String> chunk : chunks(unlikedUserIds)) {
+            delta -= blogLikeRepository.deleteByBlogIdAndUserIdIn(blogId, chunk);
+        }
+
+        if (delta != 0) {
+            blogRepository.addLikeCount(blogId, delta);
+        }
+
+        // 受付時の通知はDBへの反映前のため、その間に読み込まれたキャッシュをコミット後に正す
+        states.forEach((userId, liked) ->
+                eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, blogId, userId, liked)));
+    }
+
+    /**
+     * 反映に失敗した操作を戻し、書き込み中のセグメントへ書き直す
+     * その間に受け付けた新しい操作があるユーザーは、新しい操作を優先して書き直さない
+     * @return 書き直しに成功した場合はtrue
+     */
+    private boolean requeue(String blogId, Map<String, Boolean> states) {
+        rotationLock.readLock().lock();
+        try {
+            List<String> lines = new ArrayList<>(states.size());
+            Map<String, Map<String, Boolean>> shard = shardOf(blogId);
+            synchronized (shard) {
+                Map<String, Boolean> pending = shard.computeIfAbsent(blogId, key -> new HashMap<>());
+                states.forEach((userId, liked) -> {
+                    if (pending.putIfAbsent(userId, liked) == null) {
+                        lines.add(line(blogId, userId, liked));
+                    }
+                });
+            }
+            appendLog.append(lines);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("再試行するいいねをログへ書き直せませんでした: blogId={}", blogId, e);
+            return false;
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } finally {
+            appendLog.close();
+        }
+    }
+
+    private int pendingCount() {
+        int count = 0;
+        for (Map<String, Map<String, Boolean>> shard : shards) {
+            synchronized (shard) {
+                for (Map<String, Boolean> states : shard.values()) {
+                    count += states.size();
+                }
+            }
+        }
+        return count;
+    }
+
+    private Map<String, Map<String, Boolean>> shardOf(String blogId) {
+        return shards.get(Math.floorMod(blogId.hashCode(), shards.size()));
+    }
+
+    private static String line(String blogId, String userId, boolean liked) {
+        return (liked ? LIKE : UNLIKE) + SEPARATOR + blogId + SEPARATOR + userId;
+    }
+
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += CHUNK_SIZE) {
+            chunks.add(values.subList(i, Math.min(i + CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    private record Retry(int attempts, Instant nextAttemptAt) {
+    }
+}
@@ -2,34 +2,57 @@ package com.example.blog_api.service;
 
 import com.example.blog_api.dto.Blog;
 import com.example.blog_api.dto.BlogCreateRequest;
+import com.example.blog_api.dto.BlogSearchMode;
+import com.example.blog_api.dto.BlogSearchSort;
 import com.example.blog_api.dto.BlogUpdateRequest;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.dto.Tag;
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.repository.BlogRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @Transactional
 public class BlogService {
 
+    /** タグ検索で指定できる検索語の上限 */
+    private static final int MAX_SEARCH_TAGS = 10;
+
+    /** タグ検索で指定できるページ番号の上限（OFFSETが大きくなりすぎないようにする） */
+    private static final int MAX_SEARCH_PAGE = 1000;
+
     private final BlogRepository blogRepository;
-    private final TagGenerationService tagGenerationService;
     private final TagService tagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageSizePolicy pageSizePolicy;
+    private final BlogCache blogCache;
 
     public BlogService(BlogRepository blogRepository, 
-                      TagGenerationService tagGenerationService,
-                      TagService tagService) {
+                      TagService tagService,
+                      ApplicationEventPublisher eventPublisher,
+                      PageSizePolicy pageSizePolicy,
+                      BlogCache blogCache) {
         this.blogRepository = blogRepository;
-        this.tagGenerationService = tagGenerationService;
         this.tagService = tagService;
+        this.eventPublisher = eventPublisher;
+        this.pageSizePolicy = pageSizePolicy;
+        this.blogCache = blogCache;
     }
 
     /**
-     * ブログを作成し、タグを自動生成
+     * ブログを作成し、タグ生成をバックグラウンドに依頼
      */
     public Blog createBlog(String userId, BlogCreateRequest request) {
         Blog blog = new Blog();
@@ -37,18 +60,17 @@ public class BlogService {
         blog.setContent(request.getContent());
         blog.setCreatedAt(LocalDateTime.now());
         blog.setUpdatedAt(LocalDateTime.now());
+        blog.setTagStatus(TagStatus.PENDING);
 
         Blog savedBlog = blogRepository.save(blog);
 
-        List<String> generatedTags = tagGenerationService.generateTags(request.getContent());
-
-        tagService.associateTagsWithBlog(savedBlog.getId(), generatedTags);
+        eventPublisher.publishEvent(new BlogContentChangedEvent(savedBlog.getId(), savedBlog.getContent()));
 
         return savedBlog;
     }
 
     /**
-     * ブログを更新し、タグを再生成
+     * ブログを更新し、タグ再生成をバックグラウンドに依頼
      */
     public Blog updateBlog(String blogId, BlogUpdateRequest request) {
         Blog blog = blogRepository.findById(blogId)
@@ -56,51 +78,102 @@ public class BlogService {
 
         if (request.getContent() != null) {
             blog.setContent(request.getContent());
+            blog.setTagStatus(TagStatus.PENDING);
         }
         blog.setUpdatedAt(LocalDateTime.now());
 
         Blog updatedBlog = blogRepository.save(blog);
+        blogCache.invalidate(blogId);
 
         if (request.getContent() != null) {
-            List<String> generatedTags = tagGenerationService.generateTags(updatedBlog.getContent());
-            tagService.associateTagsWithBlog(updatedBlog.getId(), generatedTags);
+            eventPublisher.publishEvent(new BlogContentChangedEvent(updatedBlog.getId(), updatedBlog.getContent()));
         }
 
         return updatedBlog;
     }
 
     /**
-     * ブログを取得
+     * ブログを取得（キャッシュにある場合はDBを参照しない）
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Blog getBlogById(String blogId) {
-        return blogRepository.findById(blogId)
+        return blogCache.get(blogId, blogRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found"));
     }
 
     /**
-     * 全ブログを取得
+     * ブログを新しい順に取得
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnull）
      */
     @Transactional(readOnly = true)
-    public List<Blog> getAllBlogs() {
-        return blogRepository.findAll();
+    public CursorPage<Blog> getBlogs(String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Blog> rows = after == null
+                ? blogRepository.findPage(pageSizePolicy.lookahead(pageSize))
+                : blogRepository.findPageAfter(after.getCreatedAt(), after.getId(), pageSizePolicy.lookahead(pageSize));
+        return PageCursor.toPage(rows, pageSize, Blog::getCreatedAt, Blog::getId);
     }
 
     /**
-     * ユーザーのブログを取得
+     * ユーザーのブログを新しい順に取得
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnull）
      */
     @Transactional(readOnly = true)
-    public List<Blog> getBlogsByUserId(String userId) {
-        return blogRepository.findByUserId(userId);
+    public CursorPage<Blog> getBlogsByUserId(String userId, String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Blog> rows = after == null
+                ? blogRepository.findPageByUserId(userId, pageSizePolicy.lookahead(pageSize))
+                : blogRepository.findPageByUserIdAfter(userId, after.getCreatedAt(), after.getId(),
+                        pageSizePolicy.lookahead(pageSize));
+        return PageCursor.toPage(rows, pageSize, Blog::getCreatedAt, Blog::getId);
     }
 
     /**
      * タグでブログを検索
+     * 一致した検索語の数が多い順に、同数の場合はsortの順に並べる
      */
     @Transactional(readOnly = true)
-    public List<Blog> searchBlogsByTags(List<String> tagNames) {
-        List<String> blogIds = tagService.searchBlogIdsByTagNames(tagNames);
-        return blogRepository.findByIdIn(blogIds);
+    public List<Blog> searchBlogsByTags(List<String> tagNames, String mode, String sort, int page, Integer size) {
+        if (tagNames.isEmpty() || tagNames.size() > MAX_SEARCH_TAGS) {
+            throw new BadRequestException("tags must contain 1 to " + MAX_SEARCH_TAGS + " items");
+        }
+        if (page < 0 || page > MAX_SEARCH_PAGE) {
+            throw new BadRequestException("page must be between 0 and " + MAX_SEARCH_PAGE);
+        }
+        int pageSize = pageSizePolicy.resolve(size);
+
+        BlogSearchMode searchMode = parseEnum(BlogSearchMode.class, "mode", mode);
+        BlogSearchSort searchSort = parseEnum(BlogSearchSort.class, "sort", sort);
+
+        List<String> blogIds = tagService.searchBlogIdsByTagNames(
+                tagNames, searchMode == BlogSearchMode.ALL, searchSort, page * pageSize, pageSize);
+        if (blogIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // IN句の取得結果は順序が保証されないため、検索結果の順に並べ直す
+        Map<String, Blog> blogsById = new HashMap<>();
+        for (Blog blog : blogRepository.findByIdIn(blogIds)) {
+            blogsById.put(blog.getId(), blog);
+        }
+        List<Blog> blogs = new ArrayList<>(blogIds.size());
+        for (String blogId : blogIds) {
+            Blog blog = blogsById.get(blogId);
+            if (blog != null) {
+                blogs.add(blog);
+            }
+        }
+        return blogs;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
     }
 
     /**
@@ -115,7 +188,9 @@ public class BlogService {
      * ブログを削除
      */
     public void deleteBlog(String blogId) {
-        Blog blog = getBlogById(blogId);
+        Blog blog = blogRepository.findById(blogId)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog not found"));
         blogRepository.delete(blog);
+        blogCache.invalidate(blogId);
     }
 }
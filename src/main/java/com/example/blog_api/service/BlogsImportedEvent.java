@@ -0,0 +1,19 @@
+package com.example.blog_api.service;
+
+import java.util.List;
+
+/**
+ * ブログが一括登録されたことを通知するイベント
+ */
+public class BlogsImportedEvent {
+
+    private final List<String> blogIds;
+
+    public BlogsImportedEvent(List<String> blogIds) {
+        this.blogIds = blogIds;
+    }
+
+    public List<String> getBlogIds() {
+        return blogIds;
+    }
+}
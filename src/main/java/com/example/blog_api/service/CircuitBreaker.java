@@ -0,0 +1,78 @@
+package com.example.blog_api.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 外部APIの連続失敗時に呼び出しを遮断するサーキットブレーカー
+ * 失敗が閾値に達するとOPENとなり、一定時間後に1件だけ試行（HALF_OPEN）して復旧を判定する
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this(failureThreshold, openDurationMillis, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDurationMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 呼び出しを許可するか判定
+     * trueを返した場合、呼び出し元はrecordSuccessかrecordFailureを必ず呼ぶこと
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openDurationMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.blog_api.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Cloudinaryに画像を保存する
+ */
+@Component
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    /** Admin APIで1回に取得する画像の件数（上限） */
+    private static final int LIST_PAGE_SIZE = 500;
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStorage(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String store(Path file, String folder, String extension) throws IOException {
+        String publicId = folder + "/" + UUID.randomUUID().toString();
+
+        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.toFile(),
+                ObjectUtils.asMap(
+                        "public_id", publicId,
+                        "folder", folder,
+                        "resource_type", "image",
+                        "transformation", ObjectUtils.asMap(
+                                "width", 500,
+                                "height", 500,
+                                "crop", "limit",
+                                "quality", "auto"
+                        )
+                ));
+
+        return (String) uploadResult.get("secure_url");
+    }
+
+    @Override
+    public void delete(String imageUrl) throws IOException {
+        String publicId = extractPublicId(imageUrl);
+        if (publicId != null) {
+            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+        }
+    }
+
+    /**
+     * 保存のたびに新しいpublic_idを割り当て、画像を再利用しないため常に空
+     */
+    @Override
+    public Optional<Instant> storedAt(String imageUrl) {
+        return Optional.empty();
+    }
+
+    /**
+     * Admin APIでフォルダ内の画像を500件ずつ取得して列挙
+     */
+    @Override
+    public void forEachImage(String folder, Instant storedBefore, Consumer<String> action) throws IOException {
+        String cursor = null;
+        do {
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "type", "upload",
+                    "resource_type", "image",
+                    "prefix", folder + "/",
+                    "max_results", LIST_PAGE_SIZE);
+            if (cursor != null) {
+                options.put("next_cursor", cursor);
+            }
+
+            Map<?, ?> page;
+            try {
+                page = cloudinary.api().resources(options);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to list images: " + e.getMessage(), e);
+            }
+
+            Object resources = page.get("resources");
+            if (resources instanceof List<?> list) {
+                for (Object item : list) {
+                    if (item instanceof Map<?, ?> resource
+                            && resource.get("secure_url") instanceof String url
+                            && resource.get("created_at") instanceof String createdAt
+                            && Instant.parse(createdAt).isBefore(storedBefore)) {
+                        action.accept(url);
+                    }
+                }
+            }
+            cursor = (String) page.get("next_cursor");
+        } while (cursor != null);
+    }
+
+    /**
+     * CloudinaryのURLからpublic_idを抽出
+     */
+    private String extractPublicId(String imageUrl) {
+        try {
+            String[] parts = imageUrl.split("/upload/");
+            if (parts.length < 2) {
+                return null;
+            }
+            String path = parts[1];
+            if (path.matches("^v\\d+/.*")) {
+                path = path.substring(path.indexOf('/') + 1);
+            }
+            int lastDot = path.lastIndexOf('.');
+            if (lastDot > 0) {
+                path = path.substring(0, lastDot);
+            }
+            return path;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -3,39 +3,79 @@ package com.example.blog_api.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.blog_api.dto.CommentLike;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.exception.DuplicateResourceException;
 import com.example.blog_api.repository.CommentLikeRepository;
+import com.example.blog_api.repository.CommentRepository;
 
 @Service
 public class CommentLikeService {
     private final CommentLikeRepository commentLikeRepository;
+    private final CommentRepository commentRepository;
+    private final PageSizePolicy pageSizePolicy;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentLikeService(CommentLikeRepository commentLikeRepository) {
+    public CommentLikeService(CommentLikeRepository commentLikeRepository,
+                              CommentRepository commentRepository,
+                              PageSizePolicy pageSizePolicy,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentLikeRepository = commentLikeRepository;
+        this.commentRepository = commentRepository;
+        this.pageSizePolicy = pageSizePolicy;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<CommentLike> getLikesByCommentId(String commentId) {
-        return commentLikeRepository.findByCommentId(commentId);
+    /**
+     * コメントへのいいねを新しい順に取得
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnull）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentLike> getLikesByCommentId(String commentId, String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<CommentLike> rows = after == null
+                ? commentLikeRepository.findPageByCommentId(commentId, pageSizePolicy.lookahead(pageSize))
+                : commentLikeRepository.findPageByCommentIdAfter(commentId, after.getCreatedAt(), after.getId(),
+                        pageSizePolicy.lookahead(pageSize));
+        return PageCursor.toPage(rows, pageSize, CommentLike::getCreatedAt, CommentLike::getId);
     }
-    
+
+    /**
+     * いいねを登録し、コメントのいいね数を加算
+     * 事前に存在確認はせず、重複は一意制約違反として検出する
+     */
+    @Transactional
     public CommentLike createCommentLike(String commentId, String userId) {
-        if (commentLikeRepository.findByCommentIdAndUserId(commentId, userId).isPresent()) {
-            throw new DuplicateResourceException("既にこのコメントにいいね済みです");
-        }
-        
         CommentLike commentLike = new CommentLike();
         commentLike.setCommentId(commentId);
         commentLike.setUserId(userId);
         commentLike.setCreatedAt(LocalDateTime.now());
-        return commentLikeRepository.save(commentLike);
+
+        CommentLike savedLike;
+        try {
+            savedLike = commentLikeRepository.saveAndFlush(commentLike);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("既にこのコメントにいいね済みです");
+        }
+        commentRepository.addLikeCount(commentId, 1);
+        eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.COMMENT, commentId, userId, true));
+        return savedLike;
     }
-    
+
+    /**
+     * いいねを解除し、実際に削除できた場合のみコメントのいいね数を減算
+     */
     @Transactional
     public void deleteCommentLike(String commentId, String userId) {
-        commentLikeRepository.deleteByCommentIdAndUserId(commentId, userId);
+        if (commentLikeRepository.deleteByCommentIdAndUserId(commentId, userId) > 0) {
+            commentRepository.addLikeCount(commentId, -1);
+            eventPublisher.publishEvent(new LikeChangedEvent(LikeChangedEvent.Target.COMMENT, commentId, userId, false));
+        }
     }
 }
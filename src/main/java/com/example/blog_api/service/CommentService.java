@@ -1,11 +1,13 @@
 package com.example.blog_api.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.blog_api.dto.Comment;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.repository.BlogRepository;
 import com.example.blog_api.repository.CommentRepository;
@@ -14,18 +16,29 @@ import com.example.blog_api.repository.CommentRepository;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final BlogRepository blogRepository;
+    private final PageSizePolicy pageSizePolicy;
 
-    public CommentService(CommentRepository commentRepository, BlogRepository blogRepository) {
+    public CommentService(CommentRepository commentRepository,
+                          BlogRepository blogRepository,
+                          PageSizePolicy pageSizePolicy) {
         this.commentRepository = commentRepository;
         this.blogRepository = blogRepository;
+        this.pageSizePolicy = pageSizePolicy;
     }
 
     /**
-     * ブログIDでコメントを検索
+     * ブログIDでコメントを新しい順に検索
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnull）
      */
     @Transactional(readOnly = true)
-    public List<Comment> searchCommentByBlogId(String blogId) {
-        return commentRepository.findByBlogId(blogId); 
+    public CursorPage<Comment> searchCommentByBlogId(String blogId, String cursor, Integer size) {
+        int pageSize = pageSizePolicy.resolve(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Comment> rows = after == null
+                ? commentRepository.findPageByBlogId(blogId, pageSizePolicy.lookahead(pageSize))
+                : commentRepository.findPageByBlogIdAfter(blogId, after.getCreatedAt(), after.getId(),
+                        pageSizePolicy.lookahead(pageSize));
+        return PageCursor.toPage(rows, pageSize, Comment::getCreatedAt, Comment::getId);
     }
 
     /**
@@ -38,8 +51,9 @@ public class CommentService {
     }
 
     /**
-     * コメントを作成
+     * コメントを作成し、ブログのコメント数を加算
      */
+    @Transactional
     public Comment createComment(String blogId, String userId, String content) {
         if (!blogRepository.existsById(blogId)) {
             throw new ResourceNotFoundException("Blog not found");
@@ -49,14 +63,20 @@ public class CommentService {
         comment.setBlogId(blogId);
         comment.setUserId(userId);
         comment.setContent(content);
-        return commentRepository.save(comment);
+        comment.setCreatedAt(LocalDateTime.now());
+        Comment savedComment = commentRepository.save(comment);
+        blogRepository.addCommentCount(blogId, 1);
+        return savedComment;
     }
 
     /**
-     * コメントを削除
+     * コメントを削除し、実際に削除できた場合のみブログのコメント数を減算
      */
+    @Transactional
     public void deleteComment(String commentId) {
         Comment comment = getCommentById(commentId);
-        commentRepository.delete(comment);
+        if (commentRepository.deleteCommentById(commentId) > 0) {
+            blogRepository.addCommentCount(comment.getBlogId(), -1);
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.repository.BlogRepository;
+import com.example.blog_api.repository.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * いいね数・コメント数を実際の件数から再計算し、ずれを修正する定期ジョブ
+ * 通常は作成・削除時の加算で正しく保たれるため、修正が発生した場合は警告を出す
+ * テーブル全体を1つのトランザクションで更新せず、IDの範囲ごとにずれた行だけを短いトランザクションで修正する
+ */
+@Service
+@ConditionalOnProperty(name = "counters.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class CounterReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationService.class);
+
+    private final BlogRepository blogRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CounterReconciliationService(BlogRepository blogRepository,
+                                        CommentRepository commentRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${counters.reconciliation.chunk-size:500}") int chunkSize) {
+        this.blogRepository = blogRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${counters.reconciliation.initial-delay:PT5M}",
+               fixedDelayString = "${counters.reconciliation.interval:PT1H}")
+    public void reconcile() {
+        int[] blogCounts = new int[2];
+        forEachChunk(blogRepository::findIdsAfter, ids -> {
+            blogCounts[0] += reconcileChunk(ids, blogRepository::findLikeCountDrift,
+                    blogRepository::lockByIdIn, blogRepository::setLikeCount);
+            blogCounts[1] += reconcileChunk(ids, blogRepository::findCommentCountDrift,
+                    blogRepository::lockByIdIn, blogRepository::setCommentCount);
+        });
+        int[] commentLikes = new int[1];
+        forEachChunk(commentRepository::findIdsAfter, ids ->
+                commentLikes[0] += reconcileChunk(ids, commentRepository::findLikeCountDrift,
+                        commentRepository::lockByIdIn, commentRepository::setLikeCount));
+
+        if (blogCounts[0] + blogCounts[1] + commentLikes[0] > 0) {
+            log.warn("カウンターのずれを修正しました: blogs.like_count={}件, blogs.comment_count={}件, comments.like_count={}件",
+                    blogCounts[0], blogCounts[1], commentLikes[0]);
+        } else {
+            log.debug("カウンターのずれはありません");
+        }
+    }
+
+    /**
+     * IDの昇順にchunkSize件ずつ区切って処理する
+     */
+    private void forEachChunk(BiFunction<String, Pageable, List<String>> idsAfter, Consumer<List<String>> action) {
+        String after = "";
+        while (true) {
+            List<String> ids = idsAfter.apply(after, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            action.accept(ids);
+            if (ids.size() < chunkSize) {
+                return;
+            }
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * 範囲内のずれた行のみを修正する
+     * ずれた行の行ロックを取ってから数え直すため、ロック前にコミットされた加算は件数に含まれ、
+     * ロックを待っている加算は修正後の値に加算される（数え直しと書き込みの間の加算を上書きしない）
+     * @return 修正した行数
+     */
+    private int reconcileChunk(List<String> ids,
+                               Function<List<String>, List<Object[]>> findDrift,
+                               Consumer<List<String>> lock,
+                               ObjIntConsumer<String> setCount) {
+        List<String> drifted = new ArrayList<>();
+        for (Object[] row : findDrift.apply(ids)) {
+            drifted.add((String) row[0]);
+        }
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        Integer fixed = transactionTemplate.execute(status -> {
+            lock.accept(drifted);
+            List<Object[]> rows = findDrift.apply(drifted);
+            for (Object[] row : rows) {
+                setCount.accept((String) row[0], ((Number) row[1]).intValue());
+            }
+            return rows.size();
+        });
+        return fixed != null ? fixed : 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.ImageCleanupTask;
+import com.example.blog_api.repository.ImageCleanupTaskRepository;
+import com.example.blog_api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 参照されなくなった画像をストレージから削除する
+ * 削除する画像は参照を外した更新と同じトランザクションでテーブルに登録し（アウトボックス）、
+ * ストレージへの削除は定期ジョブでまとめて行う。失敗した場合は間隔を指数的に延ばして再試行する
+ * 削除は冪等なため、複数のインスタンスが同じ画像を処理しても問題ない
+ */
+@Service
+public class ImageCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCleanupService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ImageCleanupTaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ImageStorage imageStorage;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public ImageCleanupService(ImageCleanupTaskRepository taskRepository,
+                               UserRepository userRepository,
+                               ImageStorage imageStorage,
+                               @Value("${image.cleanup.batch-size:100}") int batchSize,
+                               @Value("${image.cleanup.initial-backoff:PT30S}") Duration initialBackoff,
+                               @Value("${image.cleanup.max-backoff:PT1H}") Duration maxBackoff,
+                               @Value("${image.cleanup.max-attempts:10}") int maxAttempts) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.imageStorage = imageStorage;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 画像の削除を登録（呼び出し元のトランザクションに参加し、ロールバックされた場合は登録されない）
+     */
+    @Transactional
+    public void enqueue(Collection<String> imageUrls) {
+        for (String url : imageUrls) {
+            if (url != null && !url.isEmpty()) {
+                taskRepository.save(new ImageCleanupTask(url));
+            }
+        }
+    }
+
+    /**
+     * 実行時刻を過ぎた削除をまとめて処理
+     * ストレージへの削除はトランザクションの外で行い、DBの接続を保持したまま待たない
+     */
+    @Scheduled(fixedDelayString = "${image.cleanup.poll-interval:PT10S}")
+    public void processDueTasks() {
+        List<ImageCleanupTask> tasks = taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (ImageCleanupTask task : tasks) {
+            process(task);
+        }
+    }
+
+    private void process(ImageCleanupTask task) {
+        String url = task.getImageUrl();
+        try {
+            // 登録後に同じ画像が再び使われた場合（同じ内容の画像を共有するストレージ）は削除しない
+            // 参照の登録前（アップロードの途中）の再利用はDBからは見えないため、登録後に保存し直された画像も残す
+            if (!userRepository.isIconReferenced(url) && !storedAfter(url, task.getCreatedAt())) {
+                imageStorage.delete(url);
+            }
+            taskRepository.delete(task);
+        } catch (Exception e) {
+            int attempts = task.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("画像の削除を断念しました（孤立画像の掃除で再検出されます）: url={}, attempts={}", url, attempts, e);
+                taskRepository.delete(task);
+                return;
+            }
+            log.warn("画像の削除に失敗しました: url={}, attempts={}, error={}", url, attempts, e.getMessage());
+            task.setAttempts(attempts);
+            task.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            task.setLastError(truncate(String.valueOf(e.getMessage())));
+            taskRepository.save(task);
+        }
+    }
+
+    private boolean storedAfter(String url, LocalDateTime createdAt) throws IOException {
+        Instant enqueuedAt = createdAt.atZone(ZoneId.systemDefault()).toInstant();
+        return imageStorage.storedAt(url).map(storedAt -> storedAt.isAfter(enqueuedAt)).orElse(false);
+    }
+
+    /**
+     * 再試行までの間隔（初回の間隔から倍々に延ばし、上限で打ち止め）
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.ImageCleanupTask;
+import com.example.blog_api.dto.User;
+import com.example.blog_api.repository.ImageCleanupTaskRepository;
+import com.example.blog_api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ストレージ上の画像とユーザーのアイコンを突き合わせ、どこからも参照されていない画像の削除を登録する定期ジョブ
+ * 削除の登録に漏れた画像（登録前のクラッシュや再試行の断念など）を回収する
+ */
+@Service
+@ConditionalOnProperty(name = "image.cleanup.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageCleanupSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCleanupSweeper.class);
+
+    private final ImageStorage imageStorage;
+    private final UserRepository userRepository;
+    private final ImageCleanupTaskRepository taskRepository;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    public ImageCleanupSweeper(ImageStorage imageStorage,
+                               UserRepository userRepository,
+                               ImageCleanupTaskRepository taskRepository,
+                               @Value("${image.cleanup.sweeper.grace-period:PT1H}") Duration gracePeriod,
+                               @Value("${image.cleanup.batch-size:100}") int batchSize) {
+        this.imageStorage = imageStorage;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * アップロードから保存までの間の画像を対象にしないよう、保存から猶予期間を過ぎた画像のみを確認する
+     */
+    @Scheduled(initialDelayString = "${image.cleanup.sweeper.initial-delay:PT10M}",
+               fixedDelayString = "${image.cleanup.sweeper.interval:PT24H}")
+    public void sweep() {
+        Instant storedBefore = Instant.now().minus(gracePeriod);
+        List<String> batch = new ArrayList<>();
+        int[] enqueued = new int[1];
+        try {
+            imageStorage.forEachImage(UserService.ICON_FOLDER, storedBefore, url -> {
+                batch.add(url);
+                if (batch.size() >= batchSize) {
+                    enqueued[0] += enqueueOrphans(batch);
+                    batch.clear();
+                }
+            });
+            enqueued[0] += enqueueOrphans(batch);
+        } catch (IOException e) {
+            log.warn("孤立画像の確認に失敗しました: {}", e.getMessage());
+            return;
+        }
+
+        if (enqueued[0] > 0) {
+            log.info("参照されていない画像の削除を登録しました: {}件", enqueued[0]);
+        }
+    }
+
+    private int enqueueOrphans(List<String> urls) {
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> referenced = new HashSet<>();
+        for (User user : userRepository.findByAnyIconUrlIn(urls)) {
+            referenced.add(user.getIconUrl());
+            referenced.add(user.getIconSmallUrl());
+            referenced.add(user.getIconMediumUrl());
+        }
+
+        int enqueued = 0;
+        for (String url : urls) {
+            if (!referenced.contains(url) && !taskRepository.existsByImageUrl(url)) {
+                taskRepository.save(new ImageCleanupTask(url));
+                enqueued++;
+            }
+        }
+        return enqueued;
+    }
+}
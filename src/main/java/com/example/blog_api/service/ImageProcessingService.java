@@ -0,0 +1,201 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 画像を1回だけデコードし、指定した長辺のサイズ違いの画像を生成する
+ * デコードとエンコードはメモリとCPUを多く使うため、専用のワーカープールで同時実行数を制限する
+ */
+@Service
+public class ImageProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    /** 混雑時に再試行を促すまでの秒数 */
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ThreadPoolTaskExecutor executor;
+    private final long maxPixels;
+    private final Duration timeout;
+
+    public ImageProcessingService(@Qualifier("imageProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                  @Value("${image.processing.max-pixels:25000000}") long maxPixels,
+                                  @Value("${image.processing.timeout:10s}") Duration timeout) {
+        this.executor = executor;
+        this.maxPixels = maxPixels;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 画像を縮小した一時ファイルを生成（元の画像より大きいサイズには拡大しない）
+     * 透過のある画像はPNG、それ以外はJPEGで出力する
+     * @param sizes 長辺のピクセル数
+     * @return sizesと同じ順の一時ファイル（呼び出し元が削除する）
+     */
+    public List<Rendition> render(Path source, int... sizes) throws IOException {
+        Future<List<Rendition>> future;
+        try {
+            future = executor.submit(() -> renderNow(source, sizes));
+        } catch (TaskRejectedException e) {
+            throw new TooManyRequestsException("Server is busy. Please retry later", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Server is busy. Please retry later", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing image", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Image processing failed", e.getCause());
+        }
+    }
+
+    private List<Rendition> renderNow(Path source, int[] sizes) throws IOException {
+        BufferedImage image = decode(source);
+        boolean alpha = image.getColorModel().hasAlpha();
+        String extension = alpha ? "png" : "jpg";
+
+        List<Rendition> renditions = new ArrayList<>();
+        try {
+            for (int size : sizes) {
+                BufferedImage resized = resize(image, size, alpha);
+                Path file = Files.createTempFile("image-rendition-", "." + extension);
+                renditions.add(new Rendition(file, extension));
+                encode(resized, extension, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            renditions.forEach(Rendition::deleteQuietly);
+            throw e;
+        }
+        return renditions;
+    }
+
+    /**
+     * 画素数を確認してからデコードする（巨大な画像でメモリを使い切らないように）
+     */
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadRequestException("Image dimensions are too large");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 長辺がmaxSizeになるよう縮小
+     * 縮小率が大きい場合は半分ずつ段階的に縮小し、画質の劣化を抑える
+     */
+    static BufferedImage resize(BufferedImage image, int maxSize, boolean alpha) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        do {
+            int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(stepWidth, stepHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private void encode(BufferedImage image, String extension, Path file) throws IOException {
+        if (!"jpg".equals(extension)) {
+            if (!ImageIO.write(image, extension, file.toFile())) {
+                throw new IllegalStateException("No image writer for " + extension);
+            }
+            return;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 生成した画像の一時ファイル
+     */
+    public record Rendition(Path file, String extension) {
+
+        public void deleteQuietly() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("一時ファイルを削除できませんでした: {}", file, e);
+            }
+        }
+    }
+}
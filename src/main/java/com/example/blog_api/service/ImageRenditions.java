@@ -0,0 +1,25 @@
+package com.example.blog_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 1枚の画像から生成したサイズ違いの画像のURL
+ * アップロードされた元の画像は保存しない。largeUrlも長辺を縮小して再エンコードした画像で、元の画像とは一致しない
+ * （アイコンの表示に使うのは最大でlargeのサイズのため。元の画像を残す場合は参照と削除の管理が別に必要になる）
+ * @param smallUrl 一覧のアイコン用
+ * @param mediumUrl プロフィールカード用
+ * @param largeUrl プロフィール画面用（再エンコード済み、元の画像ではない）
+ */
+public record ImageRenditions(String smallUrl, String mediumUrl, String largeUrl) {
+
+    public List<String> urls() {
+        List<String> urls = new ArrayList<>();
+        for (String url : new String[]{largeUrl, mediumUrl, smallUrl}) {
+            if (url != null && !urls.contains(url)) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+}
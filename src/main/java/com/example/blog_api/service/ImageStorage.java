@@ -0,0 +1,39 @@
+package com.example.blog_api.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 画像の保存先
+ * image.storage.type で実装を切り替える（cloudinary / local）
+ */
+public interface ImageStorage {
+
+    /**
+     * 検証済みの画像ファイルを保存して公開URLを返す
+     * @param file 保存する画像ファイル（呼び出し元が削除する一時ファイル）
+     * @param folder 保存先のフォルダ名（例: "user-icons"）
+     * @param extension 画像形式の拡張子（例: "png"）
+     */
+    String store(Path file, String folder, String extension) throws IOException;
+
+    /**
+     * 公開URLが指す画像を削除（このストレージの画像でない場合は何もしない）
+     */
+    void delete(String imageUrl) throws IOException;
+
+    /**
+     * 公開URLが指す画像を最後に保存した日時（同じ画像を再利用した場合はその日時）
+     * 画像を再利用しないストレージや、このストレージの画像でない場合は空
+     */
+    Optional<Instant> storedAt(String imageUrl) throws IOException;
+
+    /**
+     * フォルダ内の画像のうち、指定日時より前に保存されたものの公開URLを列挙
+     * 保存直後でまだ参照が登録されていない画像を孤立した画像と誤判定しないよう、日時で絞り込む
+     */
+    void forEachImage(String folder, Instant storedBefore, Consumer<String> action) throws IOException;
+}
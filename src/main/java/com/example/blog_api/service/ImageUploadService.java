@@ -1,57 +1,93 @@
 package com.example.blog_api.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import com.example.blog_api.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.UUID;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class ImageUploadService {
 
-    private final Cloudinary cloudinary;
-
-    public ImageUploadService(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
+    /** 形式の判定に読み込む先頭のバイト数 */
+    private static final int MAGIC_BYTES_LENGTH = 12;
+
+    private final ImageStorage imageStorage;
+    private final ImageProcessingService imageProcessingService;
+    private final int smallSize;
+    private final int mediumSize;
+    private final int largeSize;
+
+    public ImageUploadService(ImageStorage imageStorage,
+                              ImageProcessingService imageProcessingService,
+                              @Value("${image.rendition.small-size:48}") int smallSize,
+                              @Value("${image.rendition.medium-size:128}") int mediumSize,
+                              @Value("${image.rendition.large-size:500}") int largeSize) {
+        this.imageStorage = imageStorage;
+        this.imageProcessingService = imageProcessingService;
+        this.smallSize = smallSize;
+        this.mediumSize = mediumSize;
+        this.largeSize = largeSize;
     }
 
     /**
-     * 画像をCloudinaryにアップロードしてURLを返す
+     * 画像を検証し、サイズ違いの画像を生成してストレージに保存する
+     * アップロードされたファイルは一時ファイルに移してから処理し、ヒープ上に全体を読み込まない
+     * 元の画像は保存しない（参照するのは縮小した画像のみのため）
      * @param file アップロードする画像ファイル
-     * @param folder Cloudinary上のフォルダ名（例: "user-icons"）
-     * @return アップロードされた画像のURL
+     * @param folder 保存先のフォルダ名（例: "user-icons"）
+     * @return 保存した画像のURL
      */
-    public String uploadImage(MultipartFile file, String folder) throws IOException {
+    public ImageRenditions uploadImage(MultipartFile file, String folder) throws IOException {
         if (file == null || file.isEmpty()) {
             return null;
         }
 
-        validateImage(file);
-
-        String publicId = folder + "/" + UUID.randomUUID().toString();
+        String extension = validateImage(file);
 
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                ObjectUtils.asMap(
-                        "public_id", publicId,
-                        "folder", folder,
-                        "resource_type", "image",
-                        "transformation", ObjectUtils.asMap(
-                                "width", 500,
-                                "height", 500,
-                                "crop", "limit",
-                                "quality", "auto"
-                        )
-                ));
+        Path tempFile = Files.createTempFile("image-upload-", "." + extension);
+        List<ImageProcessingService.Rendition> renditions = List.of();
+        try {
+            file.transferTo(tempFile);
+            renditions = imageProcessingService.render(tempFile, smallSize, mediumSize, largeSize);
+            List<String> urls = storeAll(renditions, folder);
+            return new ImageRenditions(urls.get(0), urls.get(1), urls.get(2));
+        } finally {
+            renditions.forEach(ImageProcessingService.Rendition::deleteQuietly);
+            Files.deleteIfExists(tempFile);
+        }
+    }
 
-        return (String) uploadResult.get("secure_url");
+    /**
+     * 生成した画像をすべて保存（途中で失敗した場合は保存済みの画像を削除する）
+     */
+    private List<String> storeAll(List<ImageProcessingService.Rendition> renditions, String folder) throws IOException {
+        List<String> urls = new ArrayList<>();
+        try {
+            for (ImageProcessingService.Rendition rendition : renditions) {
+                urls.add(imageStorage.store(rendition.file(), folder, rendition.extension()));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (String url : urls) {
+                try {
+                    imageStorage.delete(url);
+                } catch (Exception ignored) {
+                    // 元の例外を優先する
+                }
+            }
+            throw e;
+        }
+        return urls;
     }
 
     /**
-     * Cloudinaryから画像を削除
+     * 画像を削除
      * @param imageUrl 削除する画像のURL
      */
     public void deleteImage(String imageUrl) throws IOException {
@@ -59,55 +95,60 @@ public class ImageUploadService {
             return;
         }
 
-        String publicId = extractPublicId(imageUrl);
-        if (publicId != null) {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-        }
+        imageStorage.delete(imageUrl);
     }
 
     /**
      * 画像ファイルの検証
+     * 形式はクライアントが申告するContent-Typeではなく、ファイル先頭のマジックバイトで判定する
+     * @return 判定した形式の拡張子
      */
-    private void validateImage(MultipartFile file) {
+    private String validateImage(MultipartFile file) throws IOException {
         long maxSize = 5 * 1024 * 1024; // 5MB
         if (file.getSize() > maxSize) {
             throw new BadRequestException("File size exceeds maximum limit of 5MB");
         }
 
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            throw new BadRequestException("Only image files are allowed");
+        byte[] head;
+        try (InputStream in = file.getInputStream()) {
+            head = in.readNBytes(MAGIC_BYTES_LENGTH);
         }
 
-        if (!contentType.equals("image/jpeg") &&
-            !contentType.equals("image/jpg") &&
-            !contentType.equals("image/png") &&
-            !contentType.equals("image/gif") &&
-            !contentType.equals("image/webp")) {
+        String extension = detectImageFormat(head);
+        if (extension == null) {
             throw new BadRequestException("Unsupported image format. Allowed: JPEG, PNG, GIF, WebP");
         }
+        return extension;
     }
 
     /**
-     * CloudinaryのURLからpublic_idを抽出
+     * マジックバイトから画像形式を判定（対応していない形式の場合はnull）
      */
-    private String extractPublicId(String imageUrl) {
-        try {
-            String[] parts = imageUrl.split("/upload/");
-            if (parts.length < 2) {
-                return null;
-            }
-            String path = parts[1];
-            if (path.matches("^v\\d+/.*")) {
-                path = path.substring(path.indexOf('/') + 1);
-            }
-            int lastDot = path.lastIndexOf('.');
-            if (lastDot > 0) {
-                path = path.substring(0, lastDot);
+    static String detectImageFormat(byte[] head) {
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(head, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "gif";
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... expected) {
+        if (data.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((data[offset + i] & 0xFF) != expected[i]) {
+                return false;
             }
-            return path;
-        } catch (Exception e) {
-            return null;
         }
+        return true;
     }
 }
@@ -0,0 +1,282 @@
+package com.example.blog_api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * いいね操作の追記ログ
+ * 受け付けた操作をDBへ反映する前に書き込み、プロセスが落ちても起動時に再生できるようにする
+ * ログはセグメントファイルに分割し、DBへの反映が完了したセグメントから削除する
+ *
+ * 追記は書き込み用のスレッドがまとめて行い（グループコミット）、同期待ちの間に届いた行を次の1回の書き込みと同期にまとめる
+ */
+public class LikeAppendLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeAppendLog.class);
+
+    private static final String SEGMENT_PREFIX = "likes-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private long sequence;
+    private Path currentPath;
+    private FileChannel current;
+    private boolean currentEmpty = true;
+
+    /** 書き込み待ちの行と、それらの書き込み完了を通知するFuture */
+    private final Object pendingLock = new Object();
+    private List<String> pendingLines = new ArrayList<>();
+    private CompletableFuture<Void> pendingBatch = new CompletableFuture<>();
+    private boolean closed;
+
+    private final Thread writer;
+
+    public LikeAppendLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create like log directory: " + directory, e);
+        }
+        this.writer = new Thread(this::writeLoop, "like-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 既存のセグメントを古い順に取得（起動時の再生用）
+     * 新しいセグメントは、既存のセグメントより大きい番号で作成する
+     */
+    public synchronized List<Path> existingSegments() {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(LikeAppendLog::isSegment).sorted().forEach(segments::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list like log directory: " + directory, e);
+        }
+        for (Path segment : segments) {
+            sequence = Math.max(sequence, sequenceOf(segment));
+        }
+        return segments;
+    }
+
+    /**
+     * セグメントの各行を読み込む
+     * クラッシュ時に書き込み途中だった（改行で終わっていない）最終行は、受付の応答前なので読み捨てる
+     */
+    public List<String> read(Path segment) {
+        try {
+            String content = Files.readString(segment, StandardCharsets.UTF_8);
+            int end = content.lastIndexOf('\n');
+            if (end < 0) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(List.of(content.substring(0, end).split("\n")));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read like log segment: " + segment, e);
+        }
+    }
+
+    /**
+     * 1行を追記し、書き込み（設定に応じてディスクへの同期）が完了するまで待つ
+     */
+    public void append(String line) {
+        append(List.of(line));
+    }
+
+    /**
+     * 複数行を同じ書き込みで追記し、完了するまで待つ
+     */
+    public void append(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> batch;
+        synchronized (pendingLock) {
+            if (closed) {
+                throw new IllegalStateException("Like log is closed");
+            }
+            pendingLines.addAll(lines);
+            batch = pendingBatch;
+            pendingLock.notifyAll();
+        }
+        try {
+            batch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 反映を断念した操作を、再生の対象外のファイルへ書き出す
+     * 形式はセグメントと同じため、セグメント名に変えてログの保存先へ置けば次回起動時に再生される
+     */
+    public synchronized void deadLetter(List<String> lines) {
+        Path path = directory.resolve(DEAD_LETTER_FILE);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            write(channel, lines);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write like dead letters: " + path, e);
+        }
+    }
+
+    /**
+     * 書き込み中のセグメントを閉じ、以降の追記は新しいセグメントに行う
+     * @return 閉じたセグメント（何も書き込まれていない場合はnull）
+     */
+    public synchronized Path rotate() {
+        if (current == null || currentEmpty) {
+            return null;
+        }
+        Path sealed = currentPath;
+        closeCurrent();
+        return sealed;
+    }
+
+    /**
+     * DBへの反映が完了したセグメントを削除
+     */
+    public void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("いいねログのセグメントを削除できませんでした: {}", segment, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (pendingLock) {
+            closed = true;
+            pendingLock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeCurrent();
+        }
+    }
+
+    /**
+     * 書き込み待ちの行をまとめて書き込み、1回だけ同期してから待っている呼び出し元へ完了を通知する
+     */
+    private void writeLoop() {
+        while (true) {
+            List<String> lines;
+            CompletableFuture<Void> batch;
+            synchronized (pendingLock) {
+                while (pendingLines.isEmpty() && !closed) {
+                    try {
+                        pendingLock.wait();
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if (pendingLines.isEmpty()) {
+                    return;
+                }
+                lines = pendingLines;
+                batch = pendingBatch;
+                pendingLines = new ArrayList<>();
+                pendingBatch = new CompletableFuture<>();
+            }
+            try {
+                writeBatch(lines);
+                batch.complete(null);
+            } catch (IOException e) {
+                batch.completeExceptionally(new UncheckedIOException("Failed to append to like log: " + currentPath, e));
+            } catch (RuntimeException e) {
+                batch.completeExceptionally(e);
+            }
+        }
+    }
+
+    private synchronized void writeBatch(List<String> lines) throws IOException {
+        if (current == null) {
+            openNextSegment();
+        }
+        write(current, lines);
+        if (fsync) {
+            current.force(false);
+        }
+        currentEmpty = false;
+    }
+
+    private static void write(FileChannel channel, List<String> lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        sequence++;
+        currentPath = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        current = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentEmpty = true;
+    }
+
+    private void closeCurrent() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.force(true);
+            current.close();
+            if (currentEmpty) {
+                Files.deleteIfExists(currentPath);
+            }
+        } catch (IOException e) {
+            log.warn("いいねログのセグメントを閉じられませんでした: {}", currentPath, e);
+        }
+        current = null;
+        currentPath = null;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
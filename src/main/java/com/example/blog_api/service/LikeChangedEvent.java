@@ -0,0 +1,41 @@
+package com.example.blog_api.service;
+
+/**
+ * ユーザーがブログ・コメントにいいね、またはいいね解除したことを通知するイベント
+ */
+public class LikeChangedEvent {
+
+    /** いいねの対象 */
+    public enum Target {
+        BLOG,
+        COMMENT
+    }
+
+    private final Target target;
+    private final String targetId;
+    private final String userId;
+    private final boolean liked;
+
+    public LikeChangedEvent(Target target, String targetId, String userId, boolean liked) {
+        this.target = target;
+        this.targetId = targetId;
+        this.userId = userId;
+        this.liked = liked;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public boolean isLiked() {
+        return liked;
+    }
+}
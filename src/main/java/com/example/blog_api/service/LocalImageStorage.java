@@ -0,0 +1,161 @@
+package com.example.blog_api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ローカルディスクに画像を保存する
+ * 画像は内容のSHA-256をファイル名とする（同じ画像は1つのファイルを共有し、内容が変わらないため無期限にキャッシュできる）
+ * 配置は {folder}/{ハッシュの先頭2文字}/{ハッシュ}.{拡張子}
+ */
+@Component
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    /** 書き込み途中のファイルを置くディレクトリ（保存先と同じファイルシステムに置き、rename を原子的にする） */
+    private static final String TEMP_DIR = ".tmp";
+
+    private static final Pattern FOLDER = Pattern.compile("[a-z0-9-]+");
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{2}");
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)");
+
+    private final Path baseDir;
+    private final String baseUrl;
+
+    public LocalImageStorage(@Value("${image.storage.local.dir:data/images}") Path baseDir,
+                             @Value("${image.storage.local.base-url:/images}") String baseUrl) throws IOException {
+        this.baseDir = baseDir.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        Files.createDirectories(this.baseDir.resolve(TEMP_DIR));
+    }
+
+    @Override
+    public String store(Path file, String folder, String extension) throws IOException {
+        if (!FOLDER.matcher(folder).matches()) {
+            throw new IllegalArgumentException("Invalid folder name: " + folder);
+        }
+
+        String hash = sha256(file);
+        String shard = hash.substring(0, 2);
+        String fileName = hash + "." + extension;
+        Path target = baseDir.resolve(folder).resolve(shard).resolve(fileName);
+
+        if (Files.exists(target)) {
+            // 既存のファイルを再利用する場合も、保存直後として孤立画像の掃除の対象から外す
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+        } else {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(baseDir.resolve(TEMP_DIR), "image-", ".tmp");
+            try {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        return baseUrl + "/" + folder + "/" + shard + "/" + fileName;
+    }
+
+    @Override
+    public void delete(String imageUrl) throws IOException {
+        Optional<Path> path = resolveUrl(imageUrl);
+        if (path.isPresent()) {
+            Files.deleteIfExists(path.get());
+        }
+    }
+
+    /**
+     * ファイルの更新日時（既存のファイルを再利用した場合も store() で更新される）
+     */
+    @Override
+    public Optional<Instant> storedAt(String imageUrl) throws IOException {
+        Optional<Path> path = resolveUrl(imageUrl);
+        if (path.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Files.getLastModifiedTime(path.get()).toInstant());
+    }
+
+    @Override
+    public void forEachImage(String folder, Instant storedBefore, Consumer<String> action) throws IOException {
+        if (!FOLDER.matcher(folder).matches()) {
+            throw new IllegalArgumentException("Invalid folder name: " + folder);
+        }
+        Path folderDir = baseDir.resolve(folder);
+        if (!Files.isDirectory(folderDir)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(folderDir, 2)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getNameCount() - folderDir.getNameCount() != 2) {
+                    continue;
+                }
+                String shard = file.getParent().getFileName().toString();
+                String fileName = file.getFileName().toString();
+                if (resolve(folder, shard, fileName).isEmpty()
+                        || !Files.getLastModifiedTime(file).toInstant().isBefore(storedBefore)) {
+                    continue;
+                }
+                action.accept(baseUrl + "/" + folder + "/" + shard + "/" + fileName);
+            }
+        }
+    }
+
+    /**
+     * 公開URLのパスから保存済みの画像ファイルを取得
+     * 想定した形式以外のパスは保存先の外を指さないよう全て拒否する
+     */
+    public Optional<Path> resolve(String folder, String shard, String fileName) {
+        if (!FOLDER.matcher(folder).matches()
+                || !SHARD.matcher(shard).matches()
+                || !FILE_NAME.matcher(fileName).matches()
+                || !fileName.startsWith(shard)) {
+            return Optional.empty();
+        }
+        Path path = baseDir.resolve(folder).resolve(shard).resolve(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Optional<Path> resolveUrl(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(baseUrl + "/")) {
+            return Optional.empty();
+        }
+        String[] parts = imageUrl.substring(baseUrl.length() + 1).split("/");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        return resolve(parts[0], parts[1], parts[2]);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
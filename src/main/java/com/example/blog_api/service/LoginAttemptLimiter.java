@@ -0,0 +1,82 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ログイン試行回数の制限
+ * 接続元IPごとに一定時間内の試行回数を、アカウントごとに連続した失敗回数を数え、
+ * 上限を超えた場合はパスワードを照合する前に拒否する
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    /** 回数を記録する接続元・アカウント数の上限 */
+    private static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final int ipLimit;
+    private final Duration ipWindow;
+    private final int accountFailureLimit;
+    private final Duration accountLockout;
+    private final BoundedTtlCache<String, AtomicInteger> ipAttempts;
+    private final BoundedTtlCache<String, AtomicInteger> accountFailures;
+
+    public LoginAttemptLimiter(@Value("${security.login.ip-limit:30}") int ipLimit,
+                               @Value("${security.login.ip-window:1m}") Duration ipWindow,
+                               @Value("${security.login.account-failure-limit:5}") int accountFailureLimit,
+                               @Value("${security.login.account-lockout:15m}") Duration accountLockout) {
+        this.ipLimit = ipLimit;
+        this.ipWindow = ipWindow;
+        this.accountFailureLimit = accountFailureLimit;
+        this.accountLockout = accountLockout;
+        this.ipAttempts = new BoundedTtlCache<>(MAX_TRACKED_KEYS, ipWindow.toMillis());
+        this.accountFailures = new BoundedTtlCache<>(MAX_TRACKED_KEYS, accountLockout.toMillis());
+    }
+
+    /**
+     * ログイン試行を記録し、上限を超えている場合は例外を投げる
+     */
+    public void checkAllowed(String username, String clientAddress) {
+        if (clientAddress != null && increment(ipAttempts, clientAddress) > ipLimit) {
+            throw new TooManyRequestsException("Too many login attempts. Please retry later",
+                    ipWindow.toSeconds());
+        }
+        AtomicInteger failures = accountFailures.get(accountKey(username));
+        if (failures != null && failures.get() >= accountFailureLimit) {
+            throw new TooManyRequestsException("Too many failed login attempts. Please retry later",
+                    accountLockout.toSeconds());
+        }
+    }
+
+    public void recordFailure(String username) {
+        increment(accountFailures, accountKey(username));
+    }
+
+    public void recordSuccess(String username) {
+        accountFailures.invalidate(accountKey(username));
+    }
+
+    /**
+     * 回数を加算（最初の記録から有効期限までの固定ウィンドウで数える）
+     */
+    private int increment(BoundedTtlCache<String, AtomicInteger> counters, String key) {
+        synchronized (counters) {
+            AtomicInteger count = counters.get(key);
+            if (count == null) {
+                count = new AtomicInteger();
+                counters.put(key, count);
+            }
+            return count.incrementAndGet();
+        }
+    }
+
+    private static String accountKey(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+}
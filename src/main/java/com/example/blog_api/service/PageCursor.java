@@ -0,0 +1,76 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * (created_at, id) の降順で並べた一覧の、最後に返した行の位置
+ * クライアントには中身を解釈できないBase64URL文字列として渡す
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public PageCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソル文字列を復元
+     * @return 未指定の場合はnull（先頭ページ）
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * size + 1件取得した結果から1ページ分の一覧を作成
+     * size件を超える行があれば、size件目の位置を次のカーソルとする
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int size,
+                                           Function<T, LocalDateTime> createdAt,
+                                           Function<T, String> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPage<>(items, new PageCursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+}
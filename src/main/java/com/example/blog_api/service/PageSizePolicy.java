@@ -0,0 +1,47 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一覧APIのページサイズ
+ */
+@Component
+public class PageSizePolicy {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageSizePolicy(@Value("${pagination.default-page-size:20}") int defaultSize,
+                          @Value("${pagination.max-page-size:100}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 指定されたページサイズを上限内に収める（未指定の場合はデフォルト値）
+     */
+    public int resolve(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        if (requested < 1) {
+            throw new BadRequestException("size must be positive");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    /**
+     * 次のページの有無を判定するため、1件多く取得する
+     */
+    public Pageable lookahead(int size) {
+        return PageRequest.ofSize(size + 1);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.RefreshToken;
+import com.example.blog_api.exception.InvalidCredentialsException;
+import com.example.blog_api.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * リフレッシュトークンの発行・ローテーション・無効化
+ * トークンは1回だけ使用でき、使用済みのトークンが再び使われた場合は漏洩とみなして
+ * そのユーザーの全てのリフレッシュトークンを無効化する
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:P14D}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * リフレッシュトークンを発行（DBにはハッシュのみを保存）
+     */
+    public String issue(String userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(userId, hash(token), LocalDateTime.now().plus(refreshTokenTtl)));
+        return token;
+    }
+
+    /**
+     * リフレッシュトークンを使用済みにして、トークンのユーザーIDを返す
+     * @throws InvalidCredentialsException トークンが存在しない・期限切れ・使用済みの場合
+     */
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public String consume(String token) {
+        String tokenHash = hash(token);
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
+
+        if (refreshToken.isRevoked() || refreshTokenRepository.revokeByTokenHash(tokenHash) == 0) {
+            int revoked = refreshTokenRepository.revokeAllByUserId(refreshToken.getUserId());
+            log.warn("使用済みのリフレッシュトークンが使用されたため、ユーザーのトークンを無効化しました: userId={}, {}件",
+                    refreshToken.getUserId(), revoked);
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        return refreshToken.getUserId();
+    }
+
+    /**
+     * ログアウト時にリフレッシュトークンを無効化
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.revokeByTokenHash(hash(token));
+    }
+
+    /**
+     * 削除されたユーザーのリフレッシュトークンを削除
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        refreshTokenRepository.deleteByUserId(event.getUserId());
+    }
+
+    @Scheduled(initialDelayString = "${jwt.refresh-cleanup-interval:PT1H}",
+               fixedDelayString = "${jwt.refresh-cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("期限切れのリフレッシュトークンを削除しました: {}件", deleted);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * タグ名からタグIDを引くプロセス内の辞書
+ * タグは作成後に変更・削除されないため、一度登録した対応は無効化せずに保持する
+ * 他のノードで作成されたタグは、辞書に無い場合のDB参照か、定期的な差分読み込みで登録する
+ */
+@Component
+public class TagDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(TagDictionary.class);
+
+    /** 差分読み込みで、コミットが遅れたタグを取りこぼさないよう遡る時間 */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final TagRepository tagRepository;
+    private final long refreshIntervalMillis;
+    private final AtomicLong nextRefreshAt = new AtomicLong();
+
+    /** 小文字化したタグ名 → タグID */
+    private final Map<String, String> tagIds = new ConcurrentHashMap<>();
+
+    /** 小文字化したタグ名の部分一致検索用インデックス */
+    private final TagNgramIndex nameIndex = new TagNgramIndex();
+
+    private volatile boolean loaded;
+
+    /** 読み込み済みタグの作成日時の最大値 */
+    private volatile LocalDateTime watermark;
+
+    public TagDictionary(TagRepository tagRepository,
+                         @Value("${tag-dictionary.refresh-interval:30s}") Duration refreshInterval) {
+        this.tagRepository = tagRepository;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+    }
+
+    /**
+     * 起動時に全タグを読み込む
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Tag> tags = tagRepository.findAll();
+        putAll(tags);
+        advanceWatermark(tags);
+        nextRefreshAt.set(System.currentTimeMillis() + refreshIntervalMillis);
+        loaded = true;
+        log.info("タグ辞書を読み込みました: {}件", tags.size());
+    }
+
+    /**
+     * 前回の読み込み以降に他のノードで作成されたタグを読み込む
+     * 更新間隔内の呼び出しと、他スレッドが読み込み中の呼び出しは何もしない
+     */
+    public void refreshIfStale() {
+        long next = nextRefreshAt.get();
+        long now = System.currentTimeMillis();
+        if (!loaded || now < next || !nextRefreshAt.compareAndSet(next, now + refreshIntervalMillis)) {
+            return;
+        }
+        try {
+            LocalDateTime since = watermark;
+            List<Tag> tags = since == null
+                    ? tagRepository.findAll()
+                    : tagRepository.findByCreatedAtGreaterThanEqual(since.minus(REFRESH_OVERLAP));
+            putAll(tags);
+            advanceWatermark(tags);
+        } catch (RuntimeException e) {
+            log.warn("タグ辞書の差分読み込みに失敗しました", e);
+        }
+    }
+
+    /**
+     * 作成されたタグをコミット後に登録
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagsCreated(TagsCreatedEvent event) {
+        putAll(event.getTags());
+    }
+
+    /**
+     * タグ名からタグIDを取得（大文字小文字を区別しない）
+     * @return 辞書に無い場合はnull
+     */
+    public String findId(String name) {
+        return tagIds.get(key(name));
+    }
+
+    /**
+     * タグ名に部分一致するタグIDを取得（大文字小文字を区別しない）
+     */
+    public List<String> findIdsContaining(String fragment) {
+        List<String> ids = new ArrayList<>();
+        for (String name : nameIndex.search(key(fragment))) {
+            String id = tagIds.get(name);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * DBに存在するタグを登録
+     */
+    public void putAll(Collection<Tag> tags) {
+        for (Tag tag : tags) {
+            if (tag.getId() != null && tag.getName() != null) {
+                String name = key(tag.getName());
+                tagIds.putIfAbsent(name, tag.getId());
+                nameIndex.add(name);
+            }
+        }
+    }
+
+    private void advanceWatermark(Collection<Tag> tags) {
+        for (Tag tag : tags) {
+            LocalDateTime createdAt = tag.getCreatedAt();
+            if (createdAt != null && (watermark == null || createdAt.isAfter(watermark))) {
+                watermark = createdAt;
+            }
+        }
+    }
+
+    /**
+     * 起動時の読み込みが完了し、全タグが登録済みかどうか
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return tagIds.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ブログ保存後にバックグラウンドでタグを生成し、ブログに紐付ける
+ */
+@Service
+public class TagGenerationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TagGenerationPipeline.class);
+
+    private final TagGenerationService tagGenerationService;
+    private final TagService tagService;
+    private final BlogRepository blogRepository;
+    private final BlogCache blogCache;
+    private final TaskExecutor tagGenerationExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public TagGenerationPipeline(TagGenerationService tagGenerationService,
+                                 TagService tagService,
+                                 BlogRepository blogRepository,
+                                 BlogCache blogCache,
+                                 @Qualifier("tagGenerationExecutor") TaskExecutor tagGenerationExecutor,
+                                 PlatformTransactionManager transactionManager) {
+        this.tagGenerationService = tagGenerationService;
+        this.tagService = tagService;
+        this.blogRepository = blogRepository;
+        this.blogCache = blogCache;
+        this.tagGenerationExecutor = tagGenerationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // コミット後のリスナーから呼ばれた場合も、完了済みのトランザクションに参加せず新しく開始する
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * ブログのコミット後にタグ生成をワーカープールに登録する
+     * キューが溢れた場合はリクエストスレッドでGemini APIを呼ばず、FAILEDにする（本文の再保存で再生成される）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBlogContentChanged(BlogContentChangedEvent event) {
+        try {
+            tagGenerationExecutor.execute(() -> generate(event));
+        } catch (TaskRejectedException e) {
+            log.warn("タグ生成のキューが溢れたため生成を見送りました: blogId={}", event.getBlogId());
+            markFailed(event);
+        }
+    }
+
+    /**
+     * タグを生成してブログに紐付ける
+     * 生成中に本文が更新・削除された場合は結果を破棄する（新しいイベントが処理する）
+     */
+    void generate(BlogContentChangedEvent event) {
+        String blogId = event.getBlogId();
+        try {
+            Optional<List<String>> generated = tagGenerationService.generateTags(event.getContent());
+            if (generated.isEmpty()) {
+                log.warn("タグを生成できませんでした: blogId={}", blogId);
+                markFailed(event);
+                return;
+            }
+            List<String> tags = generated.get();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                int updated = blogRepository.updateTagStatusIfContentMatches(
+                        blogId, event.getContent(), TagStatus.READY);
+                if (updated > 0) {
+                    tagService.associateTagsWithBlog(blogId, tags);
+                }
+            });
+            blogCache.invalidate(blogId);
+        } catch (RuntimeException e) {
+            log.error("タグ生成に失敗しました: blogId={}", blogId, e);
+            markFailed(event);
+        }
+    }
+
+    private void markFailed(BlogContentChangedEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> blogRepository.updateTagStatusIfContentMatches(
+                    event.getBlogId(), event.getContent(), TagStatus.FAILED));
+            blogCache.invalidate(event.getBlogId());
+        } catch (RuntimeException statusError) {
+            log.error("タグ生成状態の更新に失敗しました: blogId={}", event.getBlogId(), statusError);
+        }
+    }
+}
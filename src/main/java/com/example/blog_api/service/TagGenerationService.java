@@ -1,45 +1,228 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
+import com.example.blog_api.dto.TagGenerationCacheEntry;
+import com.example.blog_api.repository.TagGenerationCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class TagGenerationService {
 
+    private static final Logger log = LoggerFactory.getLogger(TagGenerationService.class);
+
+    /** プロンプトに含める本文の最大文字数 */
+    static final int MAX_PROMPT_CONTENT_LENGTH = 1000;
+
+    private static final String TAG_DELIMITER = ",";
+
+    /** 一括生成の応答行（例: "3: タグ1, タグ2"） */
+    private static final Pattern BATCH_LINE_PATTERN =
+            Pattern.compile("^\\s*(?:#+\\s*)?(?:記事\\s*)?(\\d+)\\s*(?:#+\\s*)?[:：]\\s*(.*)$");
+
     @Value("${gemini.api-key}")
     private String apiKey;
 
     @Value("${gemini.model}")
     private String model;
 
+    @Value("${gemini.base-url:https://generativelanguage.googleapis.com}")
+    private String baseUrl;
+
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final TagGenerationCacheRepository cacheRepository;
+    private final BoundedTtlCache<String, List<String>> cache;
+    private final Duration cacheTtl;
+    private final boolean persistentCacheEnabled;
+    private final Counter persistentCacheHits;
+    private final Counter apiRequests;
+    private final Counter shortCircuitedRequests;
 
-    public TagGenerationService() {
-        this.restTemplate = new RestTemplate();
+    public TagGenerationService(@Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                                @Qualifier("geminiCircuitBreaker") CircuitBreaker circuitBreaker,
+                                TagGenerationCacheRepository cacheRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${tag-generation.cache.max-size:10000}") int cacheMaxSize,
+                                @Value("${tag-generation.cache.ttl:7d}") Duration cacheTtl,
+                                @Value("${tag-generation.cache.persistent:false}") boolean persistentCacheEnabled) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.cacheRepository = cacheRepository;
+        this.cache = new BoundedTtlCache<>(cacheMaxSize, cacheTtl.toMillis());
+        this.cacheTtl = cacheTtl;
+        this.persistentCacheEnabled = persistentCacheEnabled;
+        this.persistentCacheHits = meterRegistry.counter("tag.generation.cache.persistent.hits");
+        this.apiRequests = meterRegistry.counter("tag.generation.api.requests");
+        this.shortCircuitedRequests = meterRegistry.counter("tag.generation.api.short.circuited");
+        CacheMetrics.bind(meterRegistry, "tagGeneration", cache);
     }
 
     /**
      * ブログの内容からタグを自動生成（最大5つ）
+     * プロンプトに使う部分が同じ内容であれば、キャッシュ済みの結果を返す
+     * API呼び出しの失敗やサーキットブレーカーの遮断で生成できなかった場合は空（呼び出し元で失敗として扱う）
      */
-    public List<String> generateTags(String content) {
-        try {
-            String prompt = String.format(
-                "以下のブログ記事の内容から、適切なタグを最大5つ生成してください。" +
-                "タグは、カンマ区切りで出力してください。タグは日本語で、簡潔な単語またはフレーズにしてください。\n\n" +
-                "内容: %s\n\nタグ:",
-                content.length() > 1000 ? content.substring(0, 1000) + "..." : content
-            );
+    public Optional<List<String>> generateTags(String content) {
+        String promptContent = toPromptContent(content);
+        String cacheKey = cacheKey(promptContent);
+
+        List<String> cachedTags = findCachedTags(cacheKey);
+        if (cachedTags != null) {
+            return Optional.of(cachedTags);
+        }
+
+        List<String> tags = requestTags(promptContent);
+        if (tags == null) {
+            return Optional.empty();
+        }
+
+        List<String> result = List.copyOf(tags);
+        storeCachedTags(cacheKey, result);
+        return Optional.of(result);
+    }
+
+    /**
+     * 複数のブログ記事のタグを1回のAPI呼び出しでまとめて生成
+     * 戻り値は引数と同じ順序で、応答から取り出せなかった記事は個別に生成し直す
+     * API呼び出しの失敗などで生成できなかった記事はnull（呼び出し元で失敗として扱う）
+     */
+    public List<List<String>> generateTagsBatch(List<String> contents) {
+        List<List<String>> results = new ArrayList<>(contents.size());
+        Map<String, String> pendingPrompts = new LinkedHashMap<>();
+        List<String> cacheKeys = new ArrayList<>(contents.size());
+
+        for (String content : contents) {
+            String promptContent = toPromptContent(content);
+            String cacheKey = cacheKey(promptContent);
+            cacheKeys.add(cacheKey);
+
+            List<String> cachedTags = findCachedTags(cacheKey);
+            results.add(cachedTags);
+            if (cachedTags == null) {
+                pendingPrompts.putIfAbsent(cacheKey, promptContent);
+            }
+        }
+
+        Map<String, List<String>> generated = new LinkedHashMap<>();
+        if (!pendingPrompts.isEmpty()) {
+            List<String> pendingKeys = new ArrayList<>(pendingPrompts.keySet());
+            List<List<String>> batchTags = requestTagsBatch(new ArrayList<>(pendingPrompts.values()));
+            if (batchTags == null) {
+                return results;
+            }
+
+            for (int i = 0; i < pendingKeys.size(); i++) {
+                String cacheKey = pendingKeys.get(i);
+                List<String> tags = batchTags.get(i);
+                if (tags == null) {
+                    tags = requestTags(pendingPrompts.get(cacheKey));
+                }
+                if (tags != null) {
+                    List<String> result = List.copyOf(tags);
+                    storeCachedTags(cacheKey, result);
+                    generated.put(cacheKey, result);
+                }
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, generated.get(cacheKeys.get(i)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * プロンプトに埋め込む本文を作成
+     * 空白の違いは無視し、先頭MAX_PROMPT_CONTENT_LENGTH文字のみを使用する
+     */
+    static String toPromptContent(String content) {
+        String normalized = content.strip().replaceAll("\\s+", " ");
+        return normalized.length() > MAX_PROMPT_CONTENT_LENGTH
+                ? normalized.substring(0, MAX_PROMPT_CONTENT_LENGTH) + "..."
+                : normalized;
+    }
+
+    /**
+     * Gemini APIを呼び出してタグを生成（失敗時はnull）
+     */
+    private List<String> requestTags(String promptContent) {
+        String prompt = String.format(
+            "以下のブログ記事の内容から、適切なタグを最大5つ生成してください。" +
+            "タグは、カンマ区切りで出力してください。タグは日本語で、簡潔な単語またはフレーズにしてください。\n\n" +
+            "内容: %s\n\nタグ:",
+            promptContent
+        );
+
+        String text = callGemini(prompt);
+        if (text == null) {
+            return null;
+        }
+        List<String> tags = parseTags(text);
+        return tags.isEmpty() ? null : tags;
+    }
+
+    /**
+     * 複数記事分のタグを1回のGemini API呼び出しで生成
+     * 記事ごとの結果を返し、応答に含まれなかった記事はnullとする（呼び出し自体の失敗時はnull）
+     */
+    private List<List<String>> requestTagsBatch(List<String> promptContents) {
+        StringBuilder prompt = new StringBuilder()
+            .append("以下の複数のブログ記事それぞれについて、適切なタグを最大5つ生成してください。")
+            .append("各記事は「### 記事 番号 ###」で区切られています。")
+            .append("出力は記事ごとに1行とし、「番号: タグ1, タグ2, ...」の形式で記事番号順に出力してください。")
+            .append("タグは日本語で、簡潔な単語またはフレーズにしてください。\n\n");
+        for (int i = 0; i < promptContents.size(); i++) {
+            prompt.append("### 記事 ").append(i + 1).append(" ###\n")
+                  .append(promptContents.get(i)).append("\n\n");
+        }
+        prompt.append("タグ:");
+
+        String text = callGemini(prompt.toString());
+        return text == null ? null : parseBatchTags(text, promptContents.size());
+    }
+
+    /**
+     * Gemini APIにプロンプトを送信し、応答テキストを返す（失敗時はnull）
+     * サーキットブレーカーが遮断中の場合は呼び出さずにnullを返す
+     */
+    private String callGemini(String prompt) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuitedRequests.increment();
+            return null;
+        }
 
+        boolean upstreamFailed = false;
+        try {
             String url = String.format(
-                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent?key=%s",
-                model, apiKey
+                "%s/v1beta/models/%s:generateContent?key=%s",
+                baseUrl, model, apiKey
             );
 
             HttpHeaders headers = new HttpHeaders();
@@ -56,40 +239,77 @@ public class TagGenerationService {
             );
 
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            apiRequests.increment();
             ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseGeminiResponse(response.getBody());
-            } else {
-                System.err.println("Gemini API エラー: " + response.getStatusCode());
-                return Arrays.asList("ブログ");
+                return extractText(response.getBody());
             }
+            log.warn("Gemini API エラー: {}", response.getStatusCode());
+            return null;
+        } catch (HttpClientErrorException e) {
+            // 4xxはリクエスト側の問題のため、レート制限（429）のみ上流の障害として扱う
+            upstreamFailed = e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+            log.error("タグ生成に失敗しました: {}", e.getMessage(), e);
+            return null;
         } catch (Exception e) {
-            System.err.println("タグ生成に失敗しました: " + e.getMessage());
-            e.printStackTrace();
-            return Arrays.asList("ブログ");
+            upstreamFailed = true;
+            log.error("タグ生成に失敗しました: {}", e.getMessage(), e);
+            return null;
+        } finally {
+            if (upstreamFailed) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
         }
     }
 
     /**
-     * Gemini APIのレスポンスからタグをパース
+     * Gemini APIのレスポンスから応答テキストを取り出す（失敗時はnull）
      */
     @SuppressWarnings("unchecked")
-    private List<String> parseGeminiResponse(Map<String, Object> responseBody) {
+    private String extractText(Map<String, Object> responseBody) {
         try {
             List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
             if (candidates != null && !candidates.isEmpty()) {
                 Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
                 List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
                 if (parts != null && !parts.isEmpty()) {
-                    String text = (String) parts.get(0).get("text");
-                    return parseTags(text);
+                    return (String) parts.get(0).get("text");
                 }
             }
         } catch (Exception e) {
-            System.err.println("レスポンスのパースに失敗: " + e.getMessage());
+            log.warn("レスポンスのパースに失敗: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 一括生成の応答テキストを記事ごとのタグに分割
+     * 番号が範囲外の行や重複した番号は無視し、見つからなかった記事はnullとする
+     */
+    List<List<String>> parseBatchTags(String text, int count) {
+        List<List<String>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(null);
         }
-        return Arrays.asList("ブログ");
+
+        for (String line : text.split("\\R")) {
+            Matcher matcher = BATCH_LINE_PATTERN.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1)) - 1;
+            if (index < 0 || index >= count || results.get(index) != null) {
+                continue;
+            }
+            List<String> tags = parseTags(matcher.group(2));
+            if (!tags.isEmpty()) {
+                results.set(index, tags);
+            }
+        }
+        return results;
     }
 
     /**
@@ -98,18 +318,90 @@ public class TagGenerationService {
     private List<String> parseTags(String text) {
         String[] tags = text.split("[,、\\n]");
         List<String> result = new ArrayList<>();
-        
+
         for (String tag : tags) {
             String trimmed = tag.trim()
                 .replaceAll("^[0-9]+\\.\\s*", "") // 番号付きリストを除去
                 .replaceAll("^[-*]\\s*", "")      // 箇条書き記号を除去
                 .replaceAll("[\"'`]", "");         // クォート除去
-            
+
             if (!trimmed.isEmpty() && result.size() < 5) {
                 result.add(trimmed);
             }
         }
-        
-        return result.isEmpty() ? Arrays.asList("ブログ") : result;
+
+        return result;
+    }
+
+    /**
+     * 有効期限を過ぎた永続キャッシュを削除する（読み込み時にも期限切れは無視されるため、行数の抑制のみが目的）
+     */
+    @Scheduled(initialDelayString = "${tag-generation.cache.purge-interval:PT1H}",
+               fixedDelayString = "${tag-generation.cache.purge-interval:PT1H}")
+    public void purgeExpiredCache() {
+        if (!persistentCacheEnabled) {
+            return;
+        }
+        try {
+            int deleted = cacheRepository.deleteCreatedBefore(LocalDateTime.now().minus(cacheTtl));
+            log.debug("期限切れのタグ生成キャッシュを削除しました: {}件", deleted);
+        } catch (RuntimeException e) {
+            log.warn("タグ生成キャッシュの削除に失敗: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * メモリキャッシュ、永続キャッシュの順にタグを検索（見つからない場合はnull）
+     */
+    private List<String> findCachedTags(String cacheKey) {
+        List<String> cachedTags = cache.get(cacheKey);
+        if (cachedTags != null || !persistentCacheEnabled) {
+            return cachedTags;
+        }
+
+        try {
+            LocalDateTime threshold = LocalDateTime.now().minus(cacheTtl);
+            List<String> storedTags = cacheRepository.findById(cacheKey)
+                    .filter(entry -> entry.getCreatedAt().isAfter(threshold))
+                    .map(entry -> List.of(entry.getTags().split(TAG_DELIMITER)))
+                    .orElse(null);
+            if (storedTags != null) {
+                persistentCacheHits.increment();
+                cache.put(cacheKey, storedTags);
+            }
+            return storedTags;
+        } catch (RuntimeException e) {
+            log.warn("タグ生成キャッシュの読み込みに失敗: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void storeCachedTags(String cacheKey, List<String> tags) {
+        cache.put(cacheKey, tags);
+        if (!persistentCacheEnabled) {
+            return;
+        }
+
+        try {
+            cacheRepository.save(new TagGenerationCacheEntry(
+                    cacheKey, String.join(TAG_DELIMITER, tags), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("タグ生成キャッシュの保存に失敗: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * モデル名とプロンプト入力のSHA-256ハッシュをキャッシュキーとする
+     */
+    private String cacheKey(String promptContent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(promptContent.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.example.blog_api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * タグ名の部分一致検索用の文字N-gram転置インデックス
+ * 1文字（ユニグラム）と2文字（バイグラム）の索引を持ち、分かち書きの無い日本語にも対応する
+ * 2文字以上の検索語は、含まれる全バイグラムの索引を突き合わせた候補を部分一致で確認する
+ */
+public class TagNgramIndex {
+
+    /** N-gram → そのN-gramを含むタグ名 */
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    /** 登録済みのタグ名 */
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    /**
+     * タグ名を索引に追加（登録済みの場合は何もしない）
+     */
+    public void add(String name) {
+        if (!names.add(name)) {
+            return;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            post(name.substring(i, i + 1), name);
+            if (i + 1 < name.length()) {
+                post(name.substring(i, i + 2), name);
+            }
+        }
+    }
+
+    /**
+     * 検索語を部分文字列として含むタグ名を取得
+     */
+    public List<String> search(String query) {
+        if (query.isEmpty()) {
+            return new ArrayList<>(names);
+        }
+        if (query.length() == 1) {
+            return new ArrayList<>(postings.getOrDefault(query, Collections.emptySet()));
+        }
+
+        Set<String> smallest = null;
+        for (int i = 0; i + 1 < query.length(); i++) {
+            Set<String> posting = postings.get(query.substring(i, i + 2));
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+
+        List<String> matched = new ArrayList<>();
+        for (String name : smallest) {
+            if (name.contains(query)) {
+                matched.add(name);
+            }
+        }
+        return matched;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private void post(String gram, String name) {
+        postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(name);
+    }
+}
@@ -1,51 +1,197 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.dto.BlogSearchSort;
 import com.example.blog_api.dto.BlogTag;
 import com.example.blog_api.dto.Tag;
+import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.repository.BlogTagRepository;
 import com.example.blog_api.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TagService {
 
+    private static final Logger log = LoggerFactory.getLogger(TagService.class);
+
+    /** tags.nameのカラム長 */
+    private static final int MAX_TAG_NAME_LENGTH = 50;
+
+    /** 同名タグの同時作成と競合した場合の再試行回数 */
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    /** 1つの検索語が部分一致してよいタグ数の上限（検索クエリのバインド変数の数を抑える） */
+    static final int MAX_TAGS_PER_TERM = 200;
+
     private final TagRepository tagRepository;
     private final BlogTagRepository blogTagRepository;
+    private final TagDictionary tagDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
 
-    public TagService(TagRepository tagRepository, BlogTagRepository blogTagRepository) {
+    public TagService(TagRepository tagRepository,
+                      BlogTagRepository blogTagRepository,
+                      TagDictionary tagDictionary,
+                      ApplicationEventPublisher eventPublisher,
+                      PlatformTransactionManager transactionManager) {
         this.tagRepository = tagRepository;
         this.blogTagRepository = blogTagRepository;
+        this.tagDictionary = tagDictionary;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
-     * タグ名からTagエンティティを取得または作成
+     * ブログにタグを紐付ける
+     * 既存の紐付けとの差分のみを追加・削除する
      */
-    public Tag getOrCreateTag(String tagName) {
-        return tagRepository.findByName(tagName)
-                .orElseGet(() -> {
-                    Tag newTag = new Tag(tagName);
-                    return tagRepository.save(newTag);
-                });
+    public void associateTagsWithBlog(String blogId, List<String> tagNames) {
+        Set<String> names = normalizeTagNames(tagNames);
+        Map<String, String> tagIdsByName = resolveTagIds(names);
+
+        Set<String> desiredTagIds = new LinkedHashSet<>();
+        for (String name : names) {
+            String tagId = tagIdsByName.get(nameKey(name));
+            if (tagId != null) {
+                desiredTagIds.add(tagId);
+            }
+        }
+
+        Set<String> existingTagIds = blogTagRepository.findByBlogId(blogId).stream()
+                .map(BlogTag::getTagId)
+                .collect(Collectors.toSet());
+
+        Set<String> removedTagIds = new HashSet<>(existingTagIds);
+        removedTagIds.removeAll(desiredTagIds);
+        if (!removedTagIds.isEmpty()) {
+            blogTagRepository.deleteByBlogIdAndTagIdIn(blogId, removedTagIds);
+        }
+
+        List<BlogTag> addedBlogTags = desiredTagIds.stream()
+                .filter(tagId -> !existingTagIds.contains(tagId))
+                .map(tagId -> new BlogTag(blogId, tagId))
+                .toList();
+        if (!addedBlogTags.isEmpty()) {
+            blogTagRepository.saveAll(addedBlogTags);
+        }
     }
 
     /**
-     * ブログにタグを紐付ける
+     * タグ名をIDに解決し、存在しないタグはまとめて作成する
+     * タグ辞書に無いタグ名のみDBを検索する
+     * @return 小文字化したタグ名をキーとするタグIDのマップ
      */
-    public void associateTagsWithBlog(String blogId, List<String> tagNames) {
-        List<BlogTag> existingBlogTags = blogTagRepository.findByBlogId(blogId);
-        blogTagRepository.deleteAll(existingBlogTags);
+    private Map<String, String> resolveTagIds(Collection<String> names) {
+        Map<String, String> tagIds = new HashMap<>();
+        for (String name : names) {
+            String tagId = tagDictionary.findId(name);
+            if (tagId != null) {
+                tagIds.put(nameKey(name), tagId);
+            }
+        }
+
+        List<String> missing = missingNames(names, tagIds);
+        if (!missing.isEmpty()) {
+            List<Tag> found = tagRepository.findByNameIn(missing);
+            tagDictionary.putAll(found);
+            putTagIds(tagIds, found);
+            missing = missingNames(names, tagIds);
+        }
+
+        for (int attempt = 1; !missing.isEmpty() && attempt <= MAX_CREATE_ATTEMPTS; attempt++) {
+            putTagIds(tagIds, createTags(missing));
+            missing = missingNames(names, tagIds);
+        }
+
+        if (!missing.isEmpty()) {
+            log.warn("タグを作成できませんでした: {}", missing);
+        }
+        return tagIds;
+    }
+
+    /**
+     * タグを別トランザクションでまとめて作成し、コミット後にタグ辞書へ登録
+     * 同名タグが並行して作成され一意制約に違反した場合は、コミット済みのタグを読み直して返す
+     */
+    private List<Tag> createTags(List<String> names) {
+        try {
+            List<Tag> created = newTransaction.execute(status -> {
+                List<Tag> saved = tagRepository.saveAll(names.stream().map(Tag::new).toList());
+                tagRepository.flush();
+                return saved;
+            });
+            tagDictionary.putAll(created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("タグの作成が競合したため再読み込みします: {}", names);
+            List<Tag> found = newTransaction.execute(status -> tagRepository.findByNameIn(names));
+            tagDictionary.putAll(found);
+            return found;
+        }
+    }
+
+    private void putTagIds(Map<String, String> tagIds, List<Tag> tags) {
+        for (Tag tag : tags) {
+            tagIds.putIfAbsent(nameKey(tag.getName()), tag.getId());
+        }
+    }
 
+    private List<String> missingNames(Collection<String> names, Map<String, String> tagIds) {
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (!tagIds.containsKey(nameKey(name))) {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 空白を除去し、重複（大文字小文字の違いを含む）と空のタグ名を取り除く
+     */
+    private Set<String> normalizeTagNames(List<String> tagNames) {
+        Set<String> keys = new HashSet<>();
+        Set<String> names = new LinkedHashSet<>();
         for (String tagName : tagNames) {
-            Tag tag = getOrCreateTag(tagName);
-            BlogTag blogTag = new BlogTag(blogId, tag.getId());
-            blogTagRepository.save(blogTag);
+            if (tagName == null) {
+                continue;
+            }
+            String name = tagName.strip();
+            if (name.length() > MAX_TAG_NAME_LENGTH) {
+                name = name.substring(0, MAX_TAG_NAME_LENGTH);
+            }
+            if (!name.isEmpty() && keys.add(nameKey(name))) {
+                names.add(name);
+            }
         }
+        return names;
+    }
+
+    /**
+     * タグ名の照合キー（DBの照合順序に合わせて大文字小文字を区別しない）
+     */
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -56,30 +202,59 @@ public class TagService {
         List<String> tagIds = blogTags.stream()
                 .map(BlogTag::getTagId)
                 .collect(Collectors.toList());
-        
+
         return tagRepository.findAllById(tagIds);
     }
 
     /**
      * タグ名のリストからブログIDのリストを検索（部分一致）
+     * 一致した検索語の数が多い順に、offsetからlimit件を返す
+     * 1つの検索語が一致するタグがMAX_TAGS_PER_TERMを超える場合は、より具体的な検索語を求めて拒否する
+     * @param matchAll trueの場合は全ての検索語に一致するブログのみ
      */
-    public List<String> searchBlogIdsByTagNames(List<String> tagNames) {
-        List<String> tagIds = new ArrayList<>();
-        
-        for (String tagName : tagNames) {
-            List<Tag> matchedTags = tagRepository.findByNameContaining(tagName);
-            for (Tag tag : matchedTags) {
-                if (!tagIds.contains(tag.getId())) {
-                    tagIds.add(tag.getId());
+    @Transactional(readOnly = true)
+    public List<String> searchBlogIdsByTagNames(List<String> tagNames,
+                                                boolean matchAll,
+                                                BlogSearchSort sort,
+                                                int offset,
+                                                int limit) {
+        List<Set<String>> termTagIds = new ArrayList<>();
+        for (String term : normalizeTagNames(tagNames)) {
+            Set<String> tagIds = findTagIdsContaining(term);
+            if (tagIds.size() > MAX_TAGS_PER_TERM) {
+                throw new BadRequestException("Search term '" + term + "' matches too many tags");
+            }
+            if (tagIds.isEmpty()) {
+                if (matchAll) {
+                    return new ArrayList<>();
                 }
+                continue;
             }
+            termTagIds.add(tagIds);
         }
-        
-        if (tagIds.isEmpty()) {
+
+        if (termTagIds.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        return blogTagRepository.findBlogIdsByTagIds(tagIds);
+
+        return blogTagRepository.searchBlogIds(termTagIds, matchAll, sort, offset, limit);
+    }
+
+    /**
+     * タグ名に部分一致するタグIDを取得
+     * タグ辞書の読み込み後はタグ名の照合をメモリ上で行う
+     */
+    private Set<String> findTagIdsContaining(String term) {
+        Set<String> tagIds = new LinkedHashSet<>();
+        if (tagDictionary.isLoaded()) {
+            tagDictionary.refreshIfStale();
+            tagIds.addAll(tagDictionary.findIdsContaining(term));
+        } else {
+            for (Tag tag : tagRepository.findByNameContaining(term)) {
+                tagIds.add(tag.getId());
+            }
+        }
+        return tagIds;
     }
 
     /**
@@ -0,0 +1,22 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Tag;
+
+import java.util.List;
+
+/**
+ * タグが新規作成されたことを通知するイベント
+ * コミット後にタグ辞書が受け取り、名前とIDの対応を登録する
+ */
+public class TagsCreatedEvent {
+
+    private final List<Tag> tags;
+
+    public TagsCreatedEvent(List<Tag> tags) {
+        this.tags = tags;
+    }
+
+    public List<Tag> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.blog_api.service;
+
+/**
+ * ユーザーが削除されたことを通知するイベント
+ * コミット後に受け取り、削除されたユーザーのトークンを拒否する
+ */
+public class UserDeletedEvent {
+
+    private final String userId;
+
+    public UserDeletedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
+import com.example.blog_api.cache.SortedIdSet;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.CommentLikeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * ユーザーごとの「いいね済みのブログID・コメントID」の集合をキャッシュし、
+ * 指定したIDのうちいいね済みのものを判定する
+ * キャッシュはいいね・いいね解除のコミット後に更新する
+ * 読み込み中にいいねがコミットされた場合は、読み込んだ（古いかもしれない）集合をキャッシュしない
+ */
+@Component
+public class UserLikeIndex {
+
+    /** 1回の問い合わせで指定できるIDの上限 */
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
+    /** 世代番号の分割数（ユーザーIDのハッシュで振り分ける） */
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BlogLikeRepository blogLikeRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final BoundedTtlCache<String, SortedIdSet> blogLikes;
+    private final BoundedTtlCache<String, SortedIdSet> commentLikes;
+
+    /** いいねの変更のたびに進める、ユーザーごと（ハッシュで分割）の世代番号 */
+    private final AtomicLongArray blogGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray commentGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /** これを超える件数のいいねを持つユーザーはキャッシュせず、都度DBで判定する */
+    private final int maxIdsPerUser;
+
+    public UserLikeIndex(BlogLikeRepository blogLikeRepository,
+                         CommentLikeRepository commentLikeRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${likes.user-index.max-users:10000}") int maxUsers,
+                         @Value("${likes.user-index.max-ids-per-user:10000}") int maxIdsPerUser,
+                         @Value("${likes.user-index.ttl:10m}") Duration ttl) {
+        this.blogLikeRepository = blogLikeRepository;
+        this.commentLikeRepository = commentLikeRepository;
+        this.blogLikes = new BoundedTtlCache<>(maxUsers, ttl.toMillis());
+        this.commentLikes = new BoundedTtlCache<>(maxUsers, ttl.toMillis());
+        this.maxIdsPerUser = maxIdsPerUser;
+        CacheMetrics.bind(meterRegistry, "userBlogLikes", blogLikes);
+        CacheMetrics.bind(meterRegistry, "userCommentLikes", commentLikes);
+    }
+
+    /**
+     * 指定したブログIDのうち、ユーザーがいいね済みのものを指定順に取得
+     */
+    public List<String> likedBlogIds(String userId, Collection<String> blogIds) {
+        return liked(blogLikes, blogGenerations, userId, blogIds,
+                blogLikeRepository::findBlogIdsByUserId,
+                ids -> blogLikeRepository.findBlogIdsByUserIdAndBlogIdIn(userId, ids),
+                () -> blogLikeRepository.countByUserId(userId));
+    }
+
+    /**
+     * 指定したコメントIDのうち、ユーザーがいいね済みのものを指定順に取得
+     */
+    public List<String> likedCommentIds(String userId, Collection<String> commentIds) {
+        return liked(commentLikes, commentGenerations, userId, commentIds,
+                commentLikeRepository::findCommentIdsByUserId,
+                ids -> commentLikeRepository.findCommentIdsByUserIdAndCommentIdIn(userId, ids),
+                () -> commentLikeRepository.countByUserId(userId));
+    }
+
+    /**
+     * いいね・いいね解除をキャッシュ済みの集合に反映し、読み込み中の集合をキャッシュさせない
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        boolean blog = event.getTarget() == LikeChangedEvent.Target.BLOG;
+        BoundedTtlCache<String, SortedIdSet> cache = blog ? blogLikes : commentLikes;
+        AtomicLongArray generations = blog ? blogGenerations : commentGenerations;
+        synchronized (cache) {
+            generations.incrementAndGet(stripeOf(event.getUserId()));
+            SortedIdSet ids = cache.get(event.getUserId());
+            if (ids == null) {
+                return;
+            }
+            cache.put(event.getUserId(),
+                    event.isLiked() ? ids.with(event.getTargetId()) : ids.without(event.getTargetId()));
+        }
+    }
+
+    private List<String> liked(BoundedTtlCache<String, SortedIdSet> cache,
+                               AtomicLongArray generations,
+                               String userId,
+                               Collection<String> targetIds,
+                               Function<String, List<String>> loadAll,
+                               Function<Collection<String>, List<String>> loadMatching,
+                               LongSupplier count) {
+        Set<String> requested = new LinkedHashSet<>(targetIds);
+        if (requested.size() > MAX_IDS_PER_REQUEST) {
+            throw new BadRequestException("ids must contain at most " + MAX_IDS_PER_REQUEST + " items");
+        }
+        if (requested.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        SortedIdSet ids = cache.get(userId);
+        if (ids == null) {
+            if (count.getAsLong() > maxIdsPerUser) {
+                Set<String> matched = new HashSet<>(loadMatching.apply(requested));
+                return requested.stream().filter(matched::contains).toList();
+            }
+            int stripe = stripeOf(userId);
+            long generation = generations.get(stripe);
+            ids = SortedIdSet.of(loadAll.apply(userId));
+            synchronized (cache) {
+                if (generations.get(stripe) == generation) {
+                    cache.put(userId, ids);
+                }
+            }
+        }
+
+        List<String> liked = new ArrayList<>();
+        for (String id : requested) {
+            if (ids.contains(id)) {
+                liked.add(id);
+            }
+        }
+        return liked;
+    }
+
+    private static int stripeOf(String userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+}
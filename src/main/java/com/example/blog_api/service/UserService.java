@@ -7,9 +7,14 @@ import com.example.blog_api.exception.DuplicateResourceException;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -18,21 +23,41 @@ import java.time.LocalDateTime;
 @Transactional
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    /** アイコン画像の保存先フォルダ */
+    public static final String ICON_FOLDER = "user-icons";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ImageUploadService imageUploadService;
     private final PasswordValidationService passwordValidationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageCleanupService imageCleanupService;
+    private final TransactionTemplate transaction;
 
     public UserService(UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder, 
+                      PasswordHashingService passwordHashingService,
                       ImageUploadService imageUploadService,
-                      PasswordValidationService passwordValidationService) {
+                      PasswordValidationService passwordValidationService,
+                      ApplicationEventPublisher eventPublisher,
+                      ImageCleanupService imageCleanupService,
+                      PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.imageUploadService = imageUploadService;
         this.passwordValidationService = passwordValidationService;
+        this.eventPublisher = eventPublisher;
+        this.imageCleanupService = imageCleanupService;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * ユーザーを作成
+     * パスワードのハッシュ化と画像のアップロードはトランザクションの外で行い、
+     * 保存に失敗した場合はアップロードした画像の削除を登録する
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(UserCreateRequest request, MultipartFile iconFile) {
         if (userRepository.findByName(request.getName()).isPresent()) {
             throw new DuplicateResourceException("User already exists");
@@ -43,23 +68,24 @@ public class UserService {
         User user = new User();
         user.setName(request.getName());
         user.setNickname(request.getNickname());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        
-        if (iconFile != null && !iconFile.isEmpty()) {
-            try {
-                String iconUrl = imageUploadService.uploadImage(iconFile, "user-icons");
-                user.setIconUrl(iconUrl);
-            } catch (Exception e) {
-                throw new BadRequestException("Failed to upload icon image: " + e.getMessage());
-            }
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
+
+        ImageRenditions uploadedIcon = uploadIcon(iconFile);
+        if (uploadedIcon != null) {
+            setIcon(user, uploadedIcon);
         } else if (request.getIconUrl() != null) {
-            user.setIconUrl(request.getIconUrl());
+            setIcon(user, new ImageRenditions(null, null, request.getIconUrl()));
         }
         
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        try {
+            return transaction.execute(status -> userRepository.save(user));
+        } catch (RuntimeException e) {
+            discardUploadedIcon(uploadedIcon);
+            throw e;
+        }
     }
 
     @Transactional(readOnly = true)
@@ -68,50 +94,97 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
+    /**
+     * ユーザーを更新
+     * 画像のアップロードはトランザクションの外で行い、古い画像の削除は更新と同じトランザクションで登録する
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User updateUser(String userId, UserUpdateRequest request, MultipartFile iconFile) {
-        User user = getUserById(userId);
-        
-        String oldIconUrl = user.getIconUrl();
-
-        if (request.getNickname() != null) {
-            user.setNickname(request.getNickname());
-        }
-        
         if (iconFile != null && !iconFile.isEmpty()) {
-            try {
-                String newIconUrl = imageUploadService.uploadImage(iconFile, "user-icons");
-                user.setIconUrl(newIconUrl);
-                
-                if (oldIconUrl != null && !oldIconUrl.isEmpty()) {
-                    try {
-                        imageUploadService.deleteImage(oldIconUrl);
-                    } catch (Exception e) {
-                        System.err.println("Failed to delete old icon: " + e.getMessage());
-                    }
+            // 存在しないユーザーの画像をアップロードしない
+            getUserById(userId);
+        }
+
+        ImageRenditions uploadedIcon = uploadIcon(iconFile);
+
+        User updated;
+        try {
+            updated = transaction.execute(status -> {
+                User user = getUserById(userId);
+                ImageRenditions oldIcon = iconOf(user);
+
+                if (request.getNickname() != null) {
+                    user.setNickname(request.getNickname());
                 }
-            } catch (Exception e) {
-                throw new BadRequestException("Failed to upload icon image: " + e.getMessage());
-            }
-        } else if (request.getIconUrl() != null) {
-            user.setIconUrl(request.getIconUrl());
+
+                if (uploadedIcon != null) {
+                    setIcon(user, uploadedIcon);
+                } else if (request.getIconUrl() != null) {
+                    setIcon(user, new ImageRenditions(null, null, request.getIconUrl()));
+                }
+
+                if (!oldIcon.equals(iconOf(user))) {
+                    imageCleanupService.enqueue(oldIcon.urls());
+                }
+
+                user.setUpdatedAt(LocalDateTime.now());
+
+                User saved = userRepository.save(user);
+                eventPublisher.publishEvent(new UserUpdatedEvent(userId));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            discardUploadedIcon(uploadedIcon);
+            throw e;
         }
-        
-        user.setUpdatedAt(LocalDateTime.now());
+        return updated;
+    }
+
+    private ImageRenditions uploadIcon(MultipartFile iconFile) {
+        if (iconFile == null || iconFile.isEmpty()) {
+            return null;
+        }
+        try {
+            return imageUploadService.uploadImage(iconFile, ICON_FOLDER);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BadRequestException("Failed to upload icon image: " + e.getMessage());
+        }
+    }
 
-        return userRepository.save(user);
+    /**
+     * アイコンを設定（URLが直接指定された場合は縮小画像がないため、一覧用・カード用も同じURLを使う）
+     */
+    private static void setIcon(User user, ImageRenditions icon) {
+        user.setIconUrl(icon.largeUrl());
+        user.setIconSmallUrl(icon.smallUrl() != null ? icon.smallUrl() : icon.largeUrl());
+        user.setIconMediumUrl(icon.mediumUrl() != null ? icon.mediumUrl() : icon.largeUrl());
+    }
+
+    private static ImageRenditions iconOf(User user) {
+        return new ImageRenditions(user.getIconSmallUrl(), user.getIconMediumUrl(), user.getIconUrl());
+    }
+
+    /**
+     * 保存に失敗したユーザーのためにアップロードした画像の削除を登録
+     * 登録にも失敗した場合は孤立画像の掃除で回収される
+     */
+    private void discardUploadedIcon(ImageRenditions icon) {
+        if (icon == null) {
+            return;
+        }
+        try {
+            imageCleanupService.enqueue(icon.urls());
+        } catch (Exception e) {
+            log.warn("アップロードした画像の削除の登録に失敗しました: {}", e.getMessage());
+        }
     }
 
     public void deleteUser(String userId) {
         User user = getUserById(userId);
-        
-        if (user.getIconUrl() != null && !user.getIconUrl().isEmpty()) {
-            try {
-                imageUploadService.deleteImage(user.getIconUrl());
-            } catch (Exception e) {
-                System.err.println("Failed to delete user icon: " + e.getMessage());
-            }
-        }
-        
         userRepository.delete(user);
+        imageCleanupService.enqueue(iconOf(user).urls());
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 }
@@ -0,0 +1,97 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.cache.BoundedTtlCache;
+import com.example.blog_api.cache.CacheMetrics;
+import com.example.blog_api.dto.User;
+import com.example.blog_api.dto.UserSummary;
+import com.example.blog_api.dto.WithAuthor;
+import com.example.blog_api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 一覧に表示する投稿者の概要を取得する
+ * キャッシュに無いユーザーは1ページにつき1回のIN句でまとめて取得し、プロフィールの更新・削除のコミット後にキャッシュから削除する
+ */
+@Service
+public class UserSummaryService {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, UserSummary> summaries;
+
+    public UserSummaryService(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${users.summary-cache.max-size:10000}") int maxSize,
+                              @Value("${users.summary-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.summaries = new BoundedTtlCache<>(maxSize, ttl.toMillis());
+        CacheMetrics.bind(meterRegistry, "userSummaries", summaries);
+    }
+
+    public Optional<UserSummary> getSummary(String userId) {
+        return Optional.ofNullable(getSummaries(List.of(userId)).get(userId));
+    }
+
+    /**
+     * ユーザーIDごとの概要（存在しないユーザーは含まない）
+     */
+    public Map<String, UserSummary> getSummaries(Collection<String> userIds) {
+        Map<String, UserSummary> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId == null || result.containsKey(userId)) {
+                continue;
+            }
+            UserSummary cached = summaries.get(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                UserSummary summary = UserSummary.from(user);
+                summaries.put(user.getId(), summary);
+                result.put(user.getId(), summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一覧の各要素に投稿者の概要を付ける
+     */
+    public <T> List<WithAuthor<T>> withAuthors(List<T> items, Function<T, String> userIdOf) {
+        Map<String, UserSummary> authors = getSummaries(items.stream().map(userIdOf).toList());
+        List<WithAuthor<T>> result = new ArrayList<>(items.size());
+        for (T item : items) {
+            result.add(new WithAuthor<>(item, authors.get(userIdOf.apply(item))));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        summaries.invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        summaries.invalidate(event.getUserId());
+    }
+}
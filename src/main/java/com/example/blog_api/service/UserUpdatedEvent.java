@@ -0,0 +1,18 @@
+package com.example.blog_api.service;
+
+/**
+ * ユーザーのプロフィール（ニックネーム・アイコン）が更新されたことを通知するイベント
+ * コミット後に受け取り、投稿者の概要のキャッシュを削除する
+ */
+public class UserUpdatedEvent {
+
+    private final String userId;
+
+    public UserUpdatedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
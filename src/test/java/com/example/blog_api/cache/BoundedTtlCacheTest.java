@@ -0,0 +1,97 @@
+package com.example.blog_api.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundedTtlCache テスト")
+class BoundedTtlCacheTest {
+
+    private AtomicLong now;
+    private BoundedTtlCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        cache = new BoundedTtlCache<>(2, 100L, now::get);
+    }
+
+    @Test
+    @DisplayName("格納した値を取得できる")
+    void getReturnsStoredValue() {
+        // Given
+        cache.put("a", "value-a");
+
+        // When
+        String result = cache.get("a");
+
+        // Then
+        assertThat(result).isEqualTo("value-a");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("有効期限を過ぎた値は取得できない")
+    void expiredValueIsNotReturned() {
+        // Given
+        cache.put("a", "value-a");
+        now.addAndGet(100L);
+
+        // When
+        String result = cache.get("a");
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("上限を超えると最も長く参照されていない値を追い出す")
+    void evictsLeastRecentlyUsed() {
+        // Given
+        cache.put("a", "value-a");
+        cache.put("b", "value-b");
+        cache.get("a");
+
+        // When
+        cache.put("c", "value-c");
+
+        // Then
+        assertThat(cache.get("a")).isEqualTo("value-a");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("value-c");
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("個別の有効期限を指定して格納できる")
+    void putWithExplicitExpiry() {
+        // Given
+        cache.put("a", "value-a", now.get() + 10L);
+
+        // When
+        now.addAndGet(10L);
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    @DisplayName("無効化した値は取得できない")
+    void invalidateRemovesValue() {
+        // Given
+        cache.put("a", "value-a");
+
+        // When
+        cache.invalidate("a");
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blog_api.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SortedIdSet 単体テスト")
+class SortedIdSetTest {
+
+    @Test
+    @DisplayName("重複を除いて保持し、所属を判定できる")
+    void of_DeduplicatesAndContains() {
+        // When
+        SortedIdSet ids = SortedIdSet.of(List.of("c", "a", "b", "a"));
+
+        // Then
+        assertThat(ids.size()).isEqualTo(3);
+        assertThat(ids.contains("a")).isTrue();
+        assertThat(ids.contains("c")).isTrue();
+        assertThat(ids.contains("d")).isFalse();
+    }
+
+    @Test
+    @DisplayName("追加・削除は新しい集合を返し、元の集合は変わらない")
+    void withAndWithout_ReturnNewSet() {
+        // Given
+        SortedIdSet ids = SortedIdSet.of(List.of("a", "c"));
+
+        // When
+        SortedIdSet added = ids.with("b");
+        SortedIdSet removed = added.without("a");
+
+        // Then
+        assertThat(ids.contains("b")).isFalse();
+        assertThat(added.contains("b")).isTrue();
+        assertThat(added.size()).isEqualTo(3);
+        assertThat(removed.contains("a")).isFalse();
+        assertThat(removed.contains("b")).isTrue();
+        assertThat(removed.contains("c")).isTrue();
+    }
+
+    @Test
+    @DisplayName("既に含むIDの追加・含まないIDの削除は同じ集合を返す")
+    void withAndWithout_NoChange() {
+        // Given
+        SortedIdSet ids = SortedIdSet.of(List.of("a"));
+
+        // When & Then
+        assertThat(ids.with("a")).isSameAs(ids);
+        assertThat(ids.without("z")).isSameAs(ids);
+        assertThat(SortedIdSet.empty().contains("a")).isFalse();
+    }
+}
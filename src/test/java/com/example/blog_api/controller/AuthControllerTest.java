@@ -11,9 +11,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,7 +47,7 @@ class AuthControllerTest {
         response.setToken("jwt-token");
         response.setUserId("user123");
 
-        when(authService.login(any(LoginRequest.class))).thenReturn(response);
+        when(authService.login(any(LoginRequest.class), anyString())).thenReturn(response);
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -86,4 +89,15 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error").value("Validation Failed"))
                 .andExpect(jsonPath("$.message").value("password: パスワードは必須です"));
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("ログアウト - Bearer形式でないAuthorizationヘッダーは400")
+    void logout_MalformedAuthorizationHeader() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bear"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(authService);
+    }
 }
@@ -2,8 +2,12 @@ package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.Blog;
 import com.example.blog_api.dto.BlogCreateRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.UserSummary;
+import com.example.blog_api.dto.WithAuthor;
 import com.example.blog_api.security.AuthenticationHelper;
 import com.example.blog_api.service.BlogService;
+import com.example.blog_api.service.UserSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +22,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +47,9 @@ class BlogControllerTest {
     @MockBean
     private AuthenticationHelper authHelper;
 
+    @MockBean
+    private UserSummaryService userSummaryService;
+
     @Test
     @DisplayName("全ブログ取得 - 認証なし")
     void getAllBlogs_NoAuth() throws Exception {
@@ -54,17 +63,60 @@ class BlogControllerTest {
         blog2.setContent("Content 2");
 
         List<Blog> blogs = Arrays.asList(blog1, blog2);
-        when(blogService.getAllBlogs()).thenReturn(blogs);
+        when(blogService.getBlogs(null, null)).thenReturn(new CursorPage<>(blogs, "next-cursor"));
 
         // When & Then
         mockMvc.perform(get("/blogs"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value("blog1"))
                 .andExpect(jsonPath("$[1].id").value("blog2"));
     }
 
+    @Test
+    @DisplayName("全ブログ取得 - カーソルとページサイズを指定")
+    void getAllBlogs_WithCursor() throws Exception {
+        // Given
+        when(blogService.getBlogs("abc", 10)).thenReturn(new CursorPage<>(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/blogs").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("全ブログ取得 - include=authorで投稿者の概要を付ける")
+    void getAllBlogs_IncludeAuthor() throws Exception {
+        // Given
+        Blog blog = new Blog();
+        blog.setId("blog1");
+        blog.setUserId("user123");
+        UserSummary author = new UserSummary("user123", "testuser", "テストユーザー", "https://example.com/icon.jpg", null);
+        when(blogService.getBlogs(null, null)).thenReturn(new CursorPage<>(List.of(blog), null));
+        when(userSummaryService.withAuthors(eq(List.of(blog)), any()))
+                .thenReturn(List.of(new WithAuthor<>(blog, author)));
+
+        // When & Then
+        mockMvc.perform(get("/blogs").param("include", "author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("blog1"))
+                .andExpect(jsonPath("$[0].userId").value("user123"))
+                .andExpect(jsonPath("$[0].author.nickname").value("テストユーザー"))
+                .andExpect(jsonPath("$[0].author.iconUrl").value("https://example.com/icon.jpg"));
+    }
+
+    @Test
+    @DisplayName("全ブログ取得 - 未対応のinclude")
+    void getAllBlogs_UnsupportedInclude() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/blogs").param("include", "tags"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("ブログ取得 - 認証なし")
     void getBlog_NoAuth() throws Exception {
@@ -84,6 +136,33 @@ class BlogControllerTest {
                 .andExpect(jsonPath("$.userId").value("user123"));
     }
 
+    @Test
+    @DisplayName("ブログ取得 - ETagが一致する場合は304を返す")
+    void getBlog_NotModified() throws Exception {
+        // Given
+        Blog blog = new Blog();
+        blog.setId("blog123");
+        blog.setContent("Test content");
+        blog.setUserId("user123");
+        when(blogService.getBlogById("blog123")).thenReturn(blog);
+
+        String etag = mockMvc.perform(get("/blogs/blog123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/blogs/blog123").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        blog.setLikeCount(1);
+        mockMvc.perform(get("/blogs/blog123").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likeCount").value(1));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("ブログ作成 - 成功")
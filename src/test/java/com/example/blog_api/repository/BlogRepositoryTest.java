@@ -1,6 +1,7 @@
 package com.example.blog_api.repository;
 
 import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.BlogLike;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -105,4 +106,33 @@ class BlogRepositoryTest {
         assertThat(saved.getContent()).isEqualTo("New blog content");
         assertThat(saved.getUserId()).isEqualTo("user123");
     }
+
+    @Test
+    @DisplayName("いいね数のずれ - 件数とずれたブログのみ実際の件数とともに返す")
+    void findLikeCountDrift() {
+        // Given
+        Blog drifted = blog(3);
+        Blog correct = blog(1);
+        entityManager.persist(new BlogLike(null, drifted.getId(), "user1", LocalDateTime.now()));
+        entityManager.persist(new BlogLike(null, correct.getId(), "user1", LocalDateTime.now()));
+        entityManager.flush();
+
+        // When
+        List<Object[]> rows = blogRepository.findLikeCountDrift(List.of(drifted.getId(), correct.getId()));
+
+        // Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(drifted.getId());
+        assertThat(((Number) rows.get(0)[1]).intValue()).isEqualTo(1);
+    }
+
+    private Blog blog(int likeCount) {
+        Blog blog = new Blog();
+        blog.setUserId("user123");
+        blog.setContent("content");
+        blog.setLikeCount(likeCount);
+        blog.setCreatedAt(LocalDateTime.now());
+        blog.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(blog);
+    }
 }
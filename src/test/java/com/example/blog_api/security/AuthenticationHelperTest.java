@@ -0,0 +1,63 @@
+package com.example.blog_api.security;
+
+import com.example.blog_api.exception.UnauthorizedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AuthenticationHelper 単体テスト")
+class AuthenticationHelperTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-minimum-256-bits-required";
+
+    private JwtUtil jwtUtil;
+    private MockHttpServletRequest request;
+    private AuthenticationHelper authenticationHelper;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 100, new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("POST", "/blogs");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        authenticationHelper = new AuthenticationHelper();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("ユーザーID取得 - フィルターが検証したクレームから取得")
+    void getCurrentUserId_FromVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken("testuser", "user123");
+        request.setAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE, jwtUtil.verify(token));
+
+        // When
+        String userId = authenticationHelper.getCurrentUserId("Bearer " + token);
+
+        // Then
+        assertThat(userId).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("ユーザーID取得 - フィルターが拒否したトークンは署名が正しくても未認証")
+    void getCurrentUserId_RejectsTokenWithoutVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken("testuser", "user123");
+
+        // When & Then
+        assertThatThrownBy(() -> authenticationHelper.getCurrentUserId("Bearer " + token))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThat(authenticationHelper.isCurrentUser("Bearer " + token, "user123")).isFalse();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.blog_api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtRequestFilter 単体テスト")
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-minimum-256-bits-required";
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 100, new SimpleMeterRegistry());
+        revocationList = mock(TokenRevocationList.class);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("認証 - クレームから認証ユーザーを組み立てる")
+    void doFilter_AuthenticatesFromClaims() throws Exception {
+        // Given
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, revocationList, Optional.empty());
+        MockHttpServletRequest request = bearerRequest(jwtUtil.generateToken("testuser", "user123"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("testuser");
+        assertThat(authentication.getPrincipal()).isEqualTo(new JwtPrincipal("user123", "testuser"));
+        assertThat(request.getAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("認証 - 削除済みユーザーは認証しない")
+    void doFilter_RejectsDeletedUser() throws Exception {
+        // Given
+        UserExistenceCache userExistenceCache = mock(UserExistenceCache.class);
+        when(userExistenceCache.exists("user123")).thenReturn(false);
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, revocationList, Optional.of(userExistenceCache));
+        MockHttpServletRequest request = bearerRequest(jwtUtil.generateToken("testuser", "user123"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE)).isNull();
+        verify(userExistenceCache).exists("user123");
+    }
+
+    @Test
+    @DisplayName("認証 - 無効化されたトークンは認証しない")
+    void doFilter_RejectsRevokedToken() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken("testuser", "user123");
+        when(revocationList.isRevoked(jwtUtil.verify(token).getId())).thenReturn(true);
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, revocationList, Optional.empty());
+        MockHttpServletRequest request = bearerRequest(token);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    @DisplayName("認証 - 不正なトークン")
+    void doFilter_InvalidToken() throws Exception {
+        // Given
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, revocationList, Optional.empty());
+        MockHttpServletRequest request = bearerRequest("not-a-token");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute(JwtRequestFilter.CLAIMS_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    @DisplayName("トークンの取り出し - Bearer形式のヘッダーのみ")
+    void bearerToken() {
+        assertThat(JwtRequestFilter.bearerToken("Bearer abc")).contains("abc");
+        assertThat(JwtRequestFilter.bearerToken("Bearer ")).isEmpty();
+        assertThat(JwtRequestFilter.bearerToken("Bear")).isEmpty();
+        assertThat(JwtRequestFilter.bearerToken("Basic dXNlcjpwYXNz")).isEmpty();
+        assertThat(JwtRequestFilter.bearerToken(null)).isEmpty();
+    }
+
+    private MockHttpServletRequest bearerRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/blogs");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.blog_api.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtil 単体テスト")
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-minimum-256-bits-required";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("トークン検証 - クレームを取得し、2回目以降はキャッシュから返す")
+    void verify_CachesClaims() {
+        // Given
+        String token = jwtUtil.generateToken("testuser", "user123");
+
+        // When
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("testuser");
+        assertThat(JwtUtil.userIdOf(first)).isEqualTo("user123");
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.extractUserId(token)).isEqualTo("user123");
+        assertThat(jwtUtil.validateToken(token, "testuser")).isTrue();
+        assertThat(jwtUtil.validateToken(token, "otheruser")).isFalse();
+    }
+
+    @Test
+    @DisplayName("トークン検証 - 改ざんされたトークン")
+    void verify_TamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken("testuser", "user123");
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verify(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("トークン検証 - 期限切れのトークン")
+    void verify_ExpiredToken() {
+        // Given
+        JwtUtil expiredIssuer = new JwtUtil(SECRET, -1000L, 100, new SimpleMeterRegistry());
+        String token = expiredIssuer.generateToken("testuser", "user123");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
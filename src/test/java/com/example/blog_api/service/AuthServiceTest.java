@@ -4,8 +4,12 @@ import com.example.blog_api.dto.LoginRequest;
 import com.example.blog_api.dto.LoginResponse;
 import com.example.blog_api.dto.User;
 import com.example.blog_api.exception.InvalidCredentialsException;
+import com.example.blog_api.exception.TooManyRequestsException;
 import com.example.blog_api.repository.UserRepository;
 import com.example.blog_api.security.JwtUtil;
+import com.example.blog_api.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,13 +17,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +41,16 @@ class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationList revocationList;
 
     @InjectMocks
     private AuthService authService;
@@ -58,19 +75,58 @@ class AuthServiceTest {
     void login_Success() {
         // Given
         when(userRepository.findByName("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("TestPass123", "hashedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("TestPass123", "hashedPassword")).thenReturn(true);
         when(jwtUtil.generateToken("testuser", "user123")).thenReturn("jwt-token");
+        when(jwtUtil.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+        when(refreshTokenService.issue("user123")).thenReturn("refresh-token");
 
         // When
-        LoginResponse result = authService.login(loginRequest);
+        LoginResponse result = authService.login(loginRequest, "127.0.0.1");
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getToken()).isEqualTo("jwt-token");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh-token");
         assertThat(result.getUserId()).isEqualTo("user123");
+        assertThat(result.getExpiresAt()).isAfter(LocalDateTime.now());
         verify(userRepository).findByName("testuser");
-        verify(passwordEncoder).matches("TestPass123", "hashedPassword");
+        verify(passwordHashingService).matches("TestPass123", "hashedPassword");
         verify(jwtUtil).generateToken("testuser", "user123");
+        verify(loginAttemptLimiter).recordSuccess("testuser");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("ログイン - 古い方式のハッシュを再ハッシュする")
+    void login_RehashesOutdatedPassword() {
+        // Given
+        when(userRepository.findByName("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordHashingService.matches("TestPass123", "hashedPassword")).thenReturn(true);
+        when(passwordHashingService.needsRehash("hashedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("TestPass123")).thenReturn("{bcrypt}newHash");
+        when(jwtUtil.generateToken("testuser", "user123")).thenReturn("jwt-token");
+        when(jwtUtil.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+
+        // When
+        authService.login(loginRequest, "127.0.0.1");
+
+        // Then
+        assertThat(testUser.getPassword()).isEqualTo("{bcrypt}newHash");
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("ログイン - 試行回数の上限を超えている")
+    void login_RateLimited() {
+        // Given
+        doThrow(new TooManyRequestsException("Too many login attempts. Please retry later", 60))
+                .when(loginAttemptLimiter).checkAllowed("testuser", "127.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, "127.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        verifyNoInteractions(userRepository, passwordHashingService, jwtUtil);
     }
 
     @Test
@@ -80,12 +136,12 @@ class AuthServiceTest {
         when(userRepository.findByName(anyString())).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, "127.0.0.1"))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid username or password");
 
         verify(userRepository).findByName("testuser");
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
         verify(jwtUtil, never()).generateToken(anyString(), anyString());
     }
 
@@ -94,17 +150,67 @@ class AuthServiceTest {
     void login_InvalidPassword() {
         // Given
         when(userRepository.findByName("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("WrongPass123", "hashedPassword")).thenReturn(false);
+        when(passwordHashingService.matches("WrongPass123", "hashedPassword")).thenReturn(false);
 
         loginRequest.setPassword("WrongPass123");
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, "127.0.0.1"))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid username or password");
 
         verify(userRepository).findByName("testuser");
-        verify(passwordEncoder).matches("WrongPass123", "hashedPassword");
+        verify(passwordHashingService).matches("WrongPass123", "hashedPassword");
+        verify(loginAttemptLimiter).recordFailure("testuser");
         verify(jwtUtil, never()).generateToken(anyString(), anyString());
     }
+
+    @Test
+    @DisplayName("トークン更新 - 新しいトークンを発行")
+    void refresh_Success() {
+        // Given
+        when(refreshTokenService.consume("old-refresh-token")).thenReturn("user123");
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken("testuser", "user123")).thenReturn("new-jwt-token");
+        when(jwtUtil.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+        when(refreshTokenService.issue("user123")).thenReturn("new-refresh-token");
+
+        // When
+        LoginResponse result = authService.refresh("old-refresh-token");
+
+        // Then
+        assertThat(result.getToken()).isEqualTo("new-jwt-token");
+        assertThat(result.getRefreshToken()).isEqualTo("new-refresh-token");
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    @DisplayName("トークン更新 - 無効なリフレッシュトークン")
+    void refresh_InvalidToken() {
+        // Given
+        when(refreshTokenService.consume("used-refresh-token"))
+                .thenThrow(new InvalidCredentialsException("Invalid refresh token"));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("used-refresh-token"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(jwtUtil, never()).generateToken(anyString(), anyString());
+        verify(refreshTokenService, never()).issue(anyString());
+    }
+
+    @Test
+    @DisplayName("ログアウト - アクセストークンとリフレッシュトークンを無効化")
+    void logout_RevokesTokens() {
+        // Given
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        Claims claims = Jwts.claims().id("jti-123").expiration(expiration).build();
+        when(jwtUtil.verify("jwt-token")).thenReturn(claims);
+
+        // When
+        authService.logout("jwt-token", "refresh-token");
+
+        // Then
+        verify(revocationList).revoke(eq("jti-123"), any(LocalDateTime.class));
+        verify(refreshTokenService).revoke("refresh-token");
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BlogCache 単体テスト")
+class BlogCacheTest {
+
+    @Test
+    @DisplayName("読み込み - 同じブログの同時のキャッシュミスは1回の読み込みにまとめる")
+    void get_CoalescesConcurrentMisses() throws Exception {
+        // Given
+        BlogCache cache = new BlogCache(new SimpleMeterRegistry(),
+                100, Duration.ofSeconds(5), false, 100, Duration.ofSeconds(60));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Optional<Blog>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("blog123", id -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return Optional.of(blog(id));
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<Optional<Blog>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).map(Blog::getId).contains("blog123");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("読み込み - 1段目が期限切れでも2段目から返す")
+    void get_FallsBackToSharedTier() {
+        // Given
+        BlogCache cache = new BlogCache(new SimpleMeterRegistry(),
+                100, Duration.ZERO, true, 100, Duration.ofSeconds(60));
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("blog123", id -> {
+            loads.incrementAndGet();
+            return Optional.of(blog(id));
+        });
+        Optional<Blog> second = cache.get("blog123", id -> {
+            loads.incrementAndGet();
+            return Optional.of(blog(id));
+        });
+        cache.invalidate("blog123");
+        cache.get("blog123", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(second).map(Blog::getId).contains("blog123");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("読み込み - 読み込んだエンティティではなく複製を保持し、呼び出しごとに複製を返す")
+    void get_ReturnsDetachedCopies() {
+        // Given
+        BlogCache cache = new BlogCache(new SimpleMeterRegistry(),
+                100, Duration.ofSeconds(5), false, 100, Duration.ofSeconds(60));
+        Blog managed = blog("blog123");
+        managed.setContent("コミット済みの内容");
+
+        // When
+        Blog first = cache.get("blog123", id -> Optional.of(managed)).orElseThrow();
+        managed.setContent("コミット前の内容");
+        first.setContent("呼び出し元での変更");
+        Blog second = cache.get("blog123", id -> Optional.empty()).orElseThrow();
+
+        // Then
+        assertThat(first).isNotSameAs(managed);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getContent()).isEqualTo("コミット済みの内容");
+    }
+
+    private static Blog blog(String id) {
+        Blog blog = new Blog();
+        blog.setId(id);
+        return blog;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.BlogDetail;
+import com.example.blog_api.dto.Comment;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.dto.UserSummary;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogDetailService 単体テスト")
+class BlogDetailServiceTest {
+
+    @Mock
+    private BlogService blogService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private UserSummaryService userSummaryService;
+
+    @Mock
+    private UserLikeIndex userLikeIndex;
+
+    private ThreadPoolTaskExecutor executor;
+    private BlogDetailService blogDetailService;
+    private Blog blog;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        blogDetailService = new BlogDetailService(blogService, commentService, userSummaryService, userLikeIndex,
+                executor, Duration.ofSeconds(5));
+
+        blog = new Blog();
+        blog.setId("blog123");
+        blog.setUserId("user123");
+        blog.setContent("Test blog content");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("ブログ詳細 - 本文・タグ・コメント・投稿者・いいね済みかをまとめて返す")
+    void getBlogDetail_Success() {
+        // Given
+        Tag tag = new Tag();
+        tag.setName("Spring");
+        Comment comment = new Comment();
+        comment.setId("comment1");
+        UserSummary author = new UserSummary("user123", "testuser", "テストユーザー", null, null);
+        when(blogService.getBlogById("blog123")).thenReturn(blog);
+        when(blogService.getTagsForBlog("blog123")).thenReturn(List.of(tag));
+        when(commentService.searchCommentByBlogId("blog123", null, 10))
+                .thenReturn(new CursorPage<>(List.of(comment), "next-cursor"));
+        when(userSummaryService.getSummary("user123")).thenReturn(Optional.of(author));
+        when(userLikeIndex.likedBlogIds("viewer1", List.of("blog123"))).thenReturn(List.of("blog123"));
+
+        // When
+        BlogDetail detail = blogDetailService.getBlogDetail("blog123", "viewer1", 10);
+
+        // Then
+        assertThat(detail.getBlog()).isSameAs(blog);
+        assertThat(detail.getTags()).containsExactly(tag);
+        assertThat(detail.getComments()).containsExactly(comment);
+        assertThat(detail.getCommentsNextCursor()).isEqualTo("next-cursor");
+        assertThat(detail.getAuthor().getNickname()).isEqualTo("テストユーザー");
+        assertThat(detail.getLiked()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ブログ詳細 - 未ログインの場合はいいね済みかを判定しない")
+    void getBlogDetail_Anonymous() {
+        // Given
+        when(blogService.getBlogById("blog123")).thenReturn(blog);
+        when(blogService.getTagsForBlog("blog123")).thenReturn(List.of());
+        when(commentService.searchCommentByBlogId("blog123", null, null))
+                .thenReturn(new CursorPage<>(List.of(), null));
+        when(userSummaryService.getSummary("user123")).thenReturn(Optional.empty());
+
+        // When
+        BlogDetail detail = blogDetailService.getBlogDetail("blog123", null, null);
+
+        // Then
+        assertThat(detail.getLiked()).isNull();
+        assertThat(detail.getAuthor()).isNull();
+        verifyNoInteractions(userLikeIndex);
+    }
+
+    @Test
+    @DisplayName("ブログ詳細 - ブログが見つからない場合は他の取得を行わない")
+    void getBlogDetail_NotFound() {
+        // Given
+        when(blogService.getBlogById("unknown")).thenThrow(new ResourceNotFoundException("Blog not found"));
+
+        // When & Then
+        assertThatThrownBy(() -> blogDetailService.getBlogDetail("unknown", "viewer1", null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(commentService, never()).searchCommentByBlogId(any(), any(), any());
+        verifyNoInteractions(userSummaryService, userLikeIndex);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogImportService 単体テスト")
+class BlogImportServiceTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private TagGenerationService tagGenerationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BlogCache blogCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BlogImportService blogImportService;
+
+    @BeforeEach
+    void setUp() {
+        blogImportService = new BlogImportService(blogRepository, tagService, tagGenerationService, eventPublisher,
+                new SyncTaskExecutor(), blogCache, transactionManager);
+        ReflectionTestUtils.setField(blogImportService, "batchSize", 20);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("一括タグ生成 - 生成したタグを登録し、READYにする")
+    void generateTags_Success() {
+        // Given
+        when(blogRepository.findByIdIn(List.of("blog1", "blog2"))).thenReturn(List.of(blog("blog1"), blog("blog2")));
+        when(tagGenerationService.generateTagsBatch(List.of("content blog1", "content blog2")))
+                .thenReturn(List.of(List.of("Java"), List.of("Spring")));
+        when(blogRepository.updateTagStatusIfContentMatches(anyString(), anyString(), eq(TagStatus.READY)))
+                .thenReturn(1);
+
+        // When
+        blogImportService.generateTags(List.of("blog1", "blog2"));
+
+        // Then
+        verify(tagService).associateTagsWithBlog("blog1", List.of("Java"));
+        verify(tagService).associateTagsWithBlog("blog2", List.of("Spring"));
+        verify(blogRepository, never()).updateTagStatusIfContentMatches(anyString(), anyString(), eq(TagStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("一括タグ生成 - 生成に失敗した場合はバッチ内の全てのブログをFAILEDにする")
+    void generateTags_MarksBatchFailed() {
+        // Given
+        when(blogRepository.findByIdIn(List.of("blog1", "blog2"))).thenReturn(List.of(blog("blog1"), blog("blog2")));
+        when(tagGenerationService.generateTagsBatch(anyList())).thenThrow(new IllegalStateException("Gemini unavailable"));
+
+        // When
+        blogImportService.generateTags(List.of("blog1", "blog2"));
+
+        // Then
+        verify(blogRepository).updateTagStatusIfContentMatches("blog1", "content blog1", TagStatus.FAILED);
+        verify(blogRepository).updateTagStatusIfContentMatches("blog2", "content blog2", TagStatus.FAILED);
+        verify(blogCache).invalidate("blog1");
+        verify(blogCache).invalidate("blog2");
+        verifyNoInteractions(tagService);
+    }
+
+    @Test
+    @DisplayName("一括タグ生成 - 生成できなかった記事のみFAILEDにする")
+    void generateTags_MarksUngeneratedBlogFailed() {
+        // Given
+        when(blogRepository.findByIdIn(List.of("blog1", "blog2"))).thenReturn(List.of(blog("blog1"), blog("blog2")));
+        when(tagGenerationService.generateTagsBatch(anyList())).thenReturn(Arrays.asList(List.of("Java"), null));
+        when(blogRepository.updateTagStatusIfContentMatches("blog1", "content blog1", TagStatus.READY)).thenReturn(1);
+
+        // When
+        blogImportService.generateTags(List.of("blog1", "blog2"));
+
+        // Then
+        verify(tagService).associateTagsWithBlog("blog1", List.of("Java"));
+        verify(blogRepository).updateTagStatusIfContentMatches("blog2", "content blog2", TagStatus.FAILED);
+        verify(blogRepository, never()).updateTagStatusIfContentMatches("blog2", "content blog2", TagStatus.READY);
+        verify(tagService, never()).associateTagsWithBlog(eq("blog2"), anyList());
+    }
+
+    @Test
+    @DisplayName("一括タグ生成 - キューが溢れた場合は呼び出し元で生成せずFAILEDにする")
+    void generateTags_MarksFailedWhenRejected() {
+        // Given
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("queue is full");
+        };
+        BlogImportService rejectingService = new BlogImportService(blogRepository, tagService, tagGenerationService,
+                eventPublisher, rejecting, blogCache, transactionManager);
+        ReflectionTestUtils.setField(rejectingService, "batchSize", 20);
+        when(blogRepository.findByIdIn(List.of("blog1", "blog2"))).thenReturn(List.of(blog("blog1"), blog("blog2")));
+
+        // When
+        rejectingService.generateTags(List.of("blog1", "blog2"));
+
+        // Then
+        verifyNoInteractions(tagGenerationService);
+        verify(blogRepository).updateTagStatusIfContentMatches("blog1", "content blog1", TagStatus.FAILED);
+        verify(blogRepository).updateTagStatusIfContentMatches("blog2", "content blog2", TagStatus.FAILED);
+    }
+
+    private static Blog blog(String id) {
+        Blog blog = new Blog();
+        blog.setId(id);
+        blog.setContent("content " + id);
+        blog.setTagStatus(TagStatus.PENDING);
+        return blog;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.exception.DuplicateResourceException;
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.BlogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BlogLikeService 同時実行テスト")
+class BlogLikeConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BlogLikeService blogLikeService;
+
+    @Autowired
+    private BlogLikeRepository blogLikeRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @AfterEach
+    void tearDown() {
+        blogLikeRepository.deleteAll();
+        blogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("同じユーザーが同時にいいねしても1件だけ登録され、残りは重複として扱われる")
+    void createBlogLike_ConcurrentDuplicates() throws Exception {
+        // Given
+        Blog blog = new Blog();
+        blog.setUserId("author");
+        blog.setContent("Concurrent like test");
+        blog.setCreatedAt(LocalDateTime.now());
+        blog.setUpdatedAt(LocalDateTime.now());
+        String blogId = blogRepository.save(blog).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    blogLikeService.createBlogLike(blogId, "user1");
+                    return true;
+                } catch (DuplicateResourceException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(created).isEqualTo(1);
+        assertThat(blogLikeRepository.findByBlogId(blogId)).hasSize(1);
+        assertThat(blogRepository.findById(blogId).orElseThrow().getLikeCount()).isEqualTo(1);
+    }
+}
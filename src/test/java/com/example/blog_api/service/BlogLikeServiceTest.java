@@ -0,0 +1,86 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.BlogLike;
+import com.example.blog_api.exception.DuplicateResourceException;
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.BlogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogLikeService 単体テスト")
+class BlogLikeServiceTest {
+
+    @Mock
+    private BlogLikeRepository blogLikeRepository;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PageSizePolicy pageSizePolicy = new PageSizePolicy(20, 100);
+
+    @InjectMocks
+    private BlogLikeService blogLikeService;
+
+    @Test
+    @DisplayName("いいね登録 - いいね数を加算")
+    void createBlogLike_IncrementsLikeCount() {
+        // Given
+        when(blogLikeRepository.saveAndFlush(any(BlogLike.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BlogLike result = blogLikeService.createBlogLike("blog1", "user1");
+
+        // Then
+        assertThat(result.getBlogId()).isEqualTo("blog1");
+        verify(blogRepository).addLikeCount("blog1", 1);
+        verify(eventPublisher).publishEvent(any(LikeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("いいね登録 - 一意制約違反は重複として扱う")
+    void createBlogLike_DuplicateViolatesUniqueConstraint() {
+        // Given
+        when(blogLikeRepository.saveAndFlush(any(BlogLike.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When & Then
+        assertThatThrownBy(() -> blogLikeService.createBlogLike("blog1", "user1"))
+                .isInstanceOf(DuplicateResourceException.class);
+        verify(blogLikeRepository, never()).findByBlogIdAndUserId(anyString(), anyString());
+        verifyNoInteractions(blogRepository);
+    }
+
+    @Test
+    @DisplayName("いいね解除 - 削除できた場合のみいいね数を減算")
+    void deleteBlogLike_DecrementsOnlyWhenDeleted() {
+        // Given
+        when(blogLikeRepository.deleteByBlogIdAndUserId("blog1", "user1")).thenReturn(1);
+        when(blogLikeRepository.deleteByBlogIdAndUserId("blog1", "user2")).thenReturn(0);
+
+        // When
+        blogLikeService.deleteBlogLike("blog1", "user1");
+        blogLikeService.deleteBlogLike("blog1", "user2");
+
+        // Then
+        verify(blogRepository, times(1)).addLikeCount("blog1", -1);
+        verify(blogRepository, never()).addLikeCount(anyString(), eq(1));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.BlogLike;
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.BlogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogLikeWriteBehindBuffer 単体テスト")
+class BlogLikeWriteBehindBufferTest {
+
+    @TempDir
+    Path logDir;
+
+    @Mock
+    private BlogLikeRepository blogLikeRepository;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("反映 - ユーザーごとに最後の操作だけを反映し、いいね数をまとめて加算する")
+    @SuppressWarnings("unchecked")
+    void flush_MergesOperationsPerUser() {
+        // Given
+        BlogLikeWriteBehindBuffer buffer = newBuffer(10);
+        buffer.like("blog1", "user1");
+        buffer.unlike("blog1", "user1");
+        buffer.like("blog1", "user2");
+        buffer.like("blog1", "user3");
+        buffer.unlike("blog1", "user4");
+        when(blogLikeRepository.findUserIdsByBlogIdAndUserIdIn(eq("blog1"), anyCollection()))
+                .thenReturn(List.of("user3"));
+        when(blogLikeRepository.deleteByBlogIdAndUserIdIn(eq("blog1"), anyCollection())).thenReturn(2);
+
+        // When
+        buffer.flush();
+
+        // Then
+        ArgumentCaptor<Collection<String>> likedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(blogLikeRepository).findUserIdsByBlogIdAndUserIdIn(eq("blog1"), likedCaptor.capture());
+        assertThat(likedCaptor.getValue()).containsExactlyInAnyOrder("user2", "user3");
+
+        ArgumentCaptor<List<BlogLike>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(blogLikeRepository).saveAll(savedCaptor.capture());
+        assertThat(savedCaptor.getValue()).extracting(BlogLike::getUserId).containsExactly("user2");
+
+        ArgumentCaptor<Collection<String>> unlikedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(blogLikeRepository).deleteByBlogIdAndUserIdIn(eq("blog1"), unlikedCaptor.capture());
+        assertThat(unlikedCaptor.getValue()).containsExactlyInAnyOrder("user1", "user4");
+
+        verify(blogRepository).addLikeCount("blog1", -1);
+        assertThat(segments()).isEmpty();
+
+        // 受付時の5件に加え、反映後にユーザーごとの最終状態を通知する
+        ArgumentCaptor<LikeChangedEvent> eventCaptor = ArgumentCaptor.forClass(LikeChangedEvent.class);
+        verify(eventPublisher, times(9)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues().subList(5, 9))
+                .extracting(LikeChangedEvent::getUserId, LikeChangedEvent::isLiked)
+                .containsExactlyInAnyOrder(tuple("user1", false), tuple("user2", true),
+                        tuple("user3", true), tuple("user4", false));
+    }
+
+    @Test
+    @DisplayName("反映 - 失敗したブログはロールバックして次回に再試行する")
+    void flush_RequeuesFailedBlog() {
+        // Given
+        BlogLikeWriteBehindBuffer buffer = newBuffer(10);
+        buffer.like("blog1", "user1");
+        when(blogRepository.addLikeCount("blog1", 1))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(1);
+
+        // When
+        buffer.flush();
+        buffer.flush();
+        buffer.flush();
+
+        // Then
+        verify(transactionManager).rollback(any());
+        verify(blogLikeRepository, times(2)).saveAll(any());
+        verify(blogRepository, times(2)).addLikeCount("blog1", 1);
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("起動時の再生 - 既存のセグメントを再生し、書き込み途中の最終行は読み捨てる")
+    void recover_ReplaysSegmentsIgnoringTornLine() throws Exception {
+        // Given
+        Files.writeString(logDir.resolve("likes-0000000000000000001.log"),
+                "L\tblog1\tuser1\nU\tblog1\tuser2\nL\tblog1\tuse");
+        BlogLikeWriteBehindBuffer buffer = newBuffer(10);
+        when(blogLikeRepository.findUserIdsByBlogIdAndUserIdIn(eq("blog1"), anyCollection())).thenReturn(List.of());
+        when(blogLikeRepository.deleteByBlogIdAndUserIdIn(eq("blog1"), anyCollection())).thenReturn(1);
+
+        // When
+        buffer.recover();
+        buffer.flush();
+
+        // Then
+        verify(blogLikeRepository).findUserIdsByBlogIdAndUserIdIn("blog1", List.of("user1"));
+        verify(blogLikeRepository).deleteByBlogIdAndUserIdIn("blog1", List.of("user2"));
+        verify(blogRepository, never()).addLikeCount(anyString(), anyInt());
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("起動時の再生 - 反映に失敗した操作はログに残り、反映に成功した後は残らない")
+    void flush_KeepsLogUntilFlushed() {
+        // Given
+        BlogLikeWriteBehindBuffer crashed = newBuffer(10);
+        crashed.like("blog1", "user1");
+        when(blogRepository.addLikeCount("blog1", 1)).thenThrow(new IllegalStateException("unavailable"));
+        crashed.flush();
+        assertThat(segments()).isNotEmpty();
+
+        // When（プロセスが落ちた後に起動し直す）
+        doReturn(1).when(blogRepository).addLikeCount("blog1", 1);
+        BlogLikeWriteBehindBuffer restarted = newBuffer(10);
+        restarted.recover();
+        restarted.flush();
+
+        // Then
+        verify(blogRepository, times(2)).addLikeCount("blog1", 1);
+        assertThat(segments()).isEmpty();
+
+        BlogLikeWriteBehindBuffer restartedAgain = newBuffer(10);
+        restartedAgain.recover();
+        restartedAgain.flush();
+        verify(blogRepository, times(2)).addLikeCount("blog1", 1);
+    }
+
+    @Test
+    @DisplayName("反映 - 上限回数まで失敗した操作は退避して破棄する")
+    void flush_DeadLettersPoisonBlog() throws Exception {
+        // Given
+        BlogLikeWriteBehindBuffer buffer = newBuffer(2);
+        buffer.like("blog1", "user1");
+        when(blogLikeRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // When
+        buffer.flush();
+        buffer.flush();
+        buffer.flush();
+
+        // Then
+        verify(blogLikeRepository, times(2)).saveAll(any());
+        assertThat(Files.readString(logDir.resolve("dead-letter.log"))).isEqualTo("L\tblog1\tuser1\n");
+        assertThat(segments()).isEmpty();
+    }
+
+    private BlogLikeWriteBehindBuffer newBuffer(int maxAttempts) {
+        return new BlogLikeWriteBehindBuffer(blogLikeRepository, blogRepository, transactionManager,
+                new SimpleMeterRegistry(), eventPublisher, 4, logDir.toString(), false,
+                Duration.ZERO, Duration.ZERO, maxAttempts);
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(logDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("likes-")).toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
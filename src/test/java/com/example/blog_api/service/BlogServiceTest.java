@@ -2,16 +2,27 @@ package com.example.blog_api.service;
 
 import com.example.blog_api.dto.Blog;
 import com.example.blog_api.dto.BlogCreateRequest;
+import com.example.blog_api.dto.BlogSearchSort;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.repository.BlogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -19,8 +30,6 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,10 +40,17 @@ class BlogServiceTest {
     private BlogRepository blogRepository;
 
     @Mock
-    private TagGenerationService tagGenerationService;
+    private TagService tagService;
 
     @Mock
-    private TagService tagService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PageSizePolicy pageSizePolicy = new PageSizePolicy(20, 100);
+
+    @Spy
+    private BlogCache blogCache = new BlogCache(new SimpleMeterRegistry(),
+            100, Duration.ofSeconds(5), false, 100, Duration.ofSeconds(60));
 
     @InjectMocks
     private BlogService blogService;
@@ -57,10 +73,7 @@ class BlogServiceTest {
     @DisplayName("ブログ作成 - 成功")
     void createBlog_Success() {
         // Given
-        List<String> generatedTags = Arrays.asList("Java", "Spring Boot", "テスト");
         when(blogRepository.save(any(Blog.class))).thenReturn(testBlog);
-        when(tagGenerationService.generateTags(anyString())).thenReturn(generatedTags);
-        doNothing().when(tagService).associateTagsWithBlog(anyString(), anyList());
 
         // When
         Blog result = blogService.createBlog("user123", createRequest);
@@ -69,9 +82,16 @@ class BlogServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo("blog123");
         assertThat(result.getContent()).isEqualTo("Test blog content");
-        verify(blogRepository).save(any(Blog.class));
-        verify(tagGenerationService).generateTags("Test blog content");
-        verify(tagService).associateTagsWithBlog("blog123", generatedTags);
+
+        ArgumentCaptor<Blog> savedBlog = ArgumentCaptor.forClass(Blog.class);
+        verify(blogRepository).save(savedBlog.capture());
+        assertThat(savedBlog.getValue().getTagStatus()).isEqualTo(TagStatus.PENDING);
+
+        ArgumentCaptor<BlogContentChangedEvent> event = ArgumentCaptor.forClass(BlogContentChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getBlogId()).isEqualTo("blog123");
+        assertThat(event.getValue().getContent()).isEqualTo("Test blog content");
+        verifyNoInteractions(tagService);
     }
 
     @Test
@@ -89,6 +109,27 @@ class BlogServiceTest {
         verify(blogRepository).findById("blog123");
     }
 
+    @Test
+    @DisplayName("ブログ取得 - 2回目以降はキャッシュから返し、削除で無効化")
+    void getBlogById_Cached() {
+        // Given
+        when(blogRepository.findById("blog123")).thenReturn(Optional.of(testBlog));
+
+        // When
+        Blog first = blogService.getBlogById("blog123");
+        Blog second = blogService.getBlogById("blog123");
+        blogService.deleteBlog("blog123");
+        when(blogRepository.findById("blog123")).thenReturn(Optional.empty());
+
+        // Then
+        assertThat(second).isNotSameAs(testBlog);
+        assertThat(second.getContent()).isEqualTo(first.getContent());
+        assertThatThrownBy(() -> blogService.getBlogById("blog123"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(blogRepository, times(3)).findById("blog123");
+        verify(blogCache).invalidate("blog123");
+    }
+
     @Test
     @DisplayName("ブログ取得 - 見つからない")
     void getBlogById_NotFound() {
@@ -104,25 +145,59 @@ class BlogServiceTest {
     }
 
     @Test
-    @DisplayName("全ブログ取得 - 成功")
-    void getAllBlogs_Success() {
+    @DisplayName("全ブログ取得 - 次のページのカーソルを返す")
+    void getBlogs_ReturnsNextCursor() {
         // Given
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
         Blog blog1 = new Blog();
         blog1.setId("blog1");
+        blog1.setCreatedAt(now);
         Blog blog2 = new Blog();
         blog2.setId("blog2");
-        List<Blog> blogs = Arrays.asList(blog1, blog2);
+        blog2.setCreatedAt(now.minusMinutes(1));
+        Blog blog3 = new Blog();
+        blog3.setId("blog3");
+        blog3.setCreatedAt(now.minusMinutes(2));
 
-        when(blogRepository.findAll()).thenReturn(blogs);
+        when(blogRepository.findPage(PageRequest.ofSize(3))).thenReturn(Arrays.asList(blog1, blog2, blog3));
 
         // When
-        List<Blog> result = blogService.getAllBlogs();
+        CursorPage<Blog> result = blogService.getBlogs(null, 2);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo("blog1");
-        assertThat(result.get(1).getId()).isEqualTo("blog2");
-        verify(blogRepository).findAll();
+        assertThat(result.getItems()).extracting(Blog::getId).containsExactly("blog1", "blog2");
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertThat(next.getCreatedAt()).isEqualTo(blog2.getCreatedAt());
+        assertThat(next.getId()).isEqualTo("blog2");
+    }
+
+    @Test
+    @DisplayName("全ブログ取得 - カーソル以降を取得し、最後のページではカーソルを返さない")
+    void getBlogs_AfterCursor() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        String cursor = new PageCursor(createdAt, "blog2").encode();
+        Blog blog3 = new Blog();
+        blog3.setId("blog3");
+        blog3.setCreatedAt(createdAt.minusMinutes(1));
+
+        when(blogRepository.findPageAfter(createdAt, "blog2", PageRequest.ofSize(3))).thenReturn(List.of(blog3));
+
+        // When
+        CursorPage<Blog> result = blogService.getBlogs(cursor, 2);
+
+        // Then
+        assertThat(result.getItems()).extracting(Blog::getId).containsExactly("blog3");
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("全ブログ取得 - 不正なカーソル")
+    void getBlogs_InvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> blogService.getBlogs("not-a-cursor", null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(blogRepository);
     }
 
     @Test
@@ -130,15 +205,16 @@ class BlogServiceTest {
     void getBlogsByUserId_Success() {
         // Given
         List<Blog> userBlogs = Arrays.asList(testBlog);
-        when(blogRepository.findByUserId("user123")).thenReturn(userBlogs);
+        when(blogRepository.findPageByUserId("user123", PageRequest.ofSize(21))).thenReturn(userBlogs);
 
         // When
-        List<Blog> result = blogService.getBlogsByUserId("user123");
+        CursorPage<Blog> result = blogService.getBlogsByUserId("user123", null, null);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getUserId()).isEqualTo("user123");
-        verify(blogRepository).findByUserId("user123");
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getUserId()).isEqualTo("user123");
+        assertThat(result.getNextCursor()).isNull();
+        verify(blogRepository).findPageByUserId("user123", PageRequest.ofSize(21));
     }
 
     @Test
@@ -155,4 +231,38 @@ class BlogServiceTest {
         verify(blogRepository).findById("blog123");
         verify(blogRepository).delete(testBlog);
     }
+
+    @Test
+    @DisplayName("タグ検索 - 検索結果の順に並べて返す")
+    void searchBlogsByTags_KeepsRankingOrder() {
+        // Given
+        Blog blog1 = new Blog();
+        blog1.setId("blog1");
+        Blog blog2 = new Blog();
+        blog2.setId("blog2");
+        when(tagService.searchBlogIdsByTagNames(List.of("Spring", "Java"), true, BlogSearchSort.LIKES, 20, 10))
+                .thenReturn(List.of("blog2", "blog1"));
+        when(blogRepository.findByIdIn(List.of("blog2", "blog1"))).thenReturn(List.of(blog1, blog2));
+
+        // When
+        List<Blog> result = blogService.searchBlogsByTags(List.of("Spring", "Java"), "all", "likes", 2, 10);
+
+        // Then
+        assertThat(result).extracting(Blog::getId).containsExactly("blog2", "blog1");
+    }
+
+    @Test
+    @DisplayName("タグ検索 - 不正な検索条件")
+    void searchBlogsByTags_InvalidParameters() {
+        // When & Then
+        assertThatThrownBy(() -> blogService.searchBlogsByTags(List.of("Spring"), "some", "recent", 0, 20))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> blogService.searchBlogsByTags(List.of("Spring"), "any", "recent", 0, 0))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> blogService.searchBlogsByTags(List.of("Spring"), "any", "recent", -1, 20))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> blogService.searchBlogsByTags(List.of("Spring"), "any", "recent", Integer.MAX_VALUE, 20))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(tagService);
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.blog_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker テスト")
+class CircuitBreakerTest {
+
+    private AtomicLong now;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0L);
+        circuitBreaker = new CircuitBreaker(2, 1_000L, now::get);
+    }
+
+    @Test
+    @DisplayName("連続失敗が閾値に達すると遮断する")
+    void opensAfterConsecutiveFailures() {
+        // When
+        circuitBreaker.tryAcquire();
+        circuitBreaker.recordFailure();
+        circuitBreaker.tryAcquire();
+        circuitBreaker.recordFailure();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("遮断時間の経過後は1件だけ試行を許可し、成功すれば復旧する")
+    void halfOpenAllowsSingleTrial() {
+        // Given
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        now.addAndGet(1_000L);
+
+        // When
+        boolean firstTrial = circuitBreaker.tryAcquire();
+        boolean secondTrial = circuitBreaker.tryAcquire();
+        circuitBreaker.recordSuccess();
+
+        // Then
+        assertThat(firstTrial).isTrue();
+        assertThat(secondTrial).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("試行が失敗すると再び遮断する")
+    void halfOpenFailureReopens() {
+        // Given
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        now.addAndGet(1_000L);
+        circuitBreaker.tryAcquire();
+
+        // When
+        circuitBreaker.recordFailure();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.repository.BlogRepository;
+import com.example.blog_api.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CounterReconciliationService 単体テスト")
+class CounterReconciliationServiceTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CounterReconciliationService counterReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        counterReconciliationService = new CounterReconciliationService(blogRepository, commentRepository,
+                transactionManager, 2);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(commentRepository.findIdsAfter(anyString(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("再計算 - IDの範囲ごとに区切り、ずれた行のみロックして修正する")
+    void reconcile_FixesDriftedRowsInChunks() {
+        // Given
+        when(blogRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a", "b"));
+        when(blogRepository.findIdsAfter("b", PageRequest.of(0, 2))).thenReturn(List.of("c"));
+        when(blogRepository.findLikeCountDrift(any())).thenReturn(List.of());
+        when(blogRepository.findCommentCountDrift(any())).thenReturn(List.of());
+        when(blogRepository.findLikeCountDrift(List.of("a", "b"))).thenReturn(List.<Object[]>of(new Object[]{"b", 5L}));
+        when(blogRepository.findLikeCountDrift(List.of("b"))).thenReturn(List.<Object[]>of(new Object[]{"b", 6L}));
+
+        // When
+        counterReconciliationService.reconcile();
+
+        // Then
+        InOrder inOrder = inOrder(blogRepository);
+        inOrder.verify(blogRepository).lockByIdIn(List.of("b"));
+        inOrder.verify(blogRepository).setLikeCount("b", 6);
+        verify(blogRepository, times(1)).lockByIdIn(any());
+        verify(blogRepository, never()).setCommentCount(anyString(), anyInt());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("再計算 - ロックまでにずれが解消した行は書き換えない")
+    void reconcile_SkipsRowsHealedBeforeLock() {
+        // Given
+        when(blogRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a"));
+        when(blogRepository.findCommentCountDrift(any())).thenReturn(List.of());
+        when(blogRepository.findLikeCountDrift(List.of("a")))
+                .thenReturn(List.<Object[]>of(new Object[]{"a", 2L}))
+                .thenReturn(List.of());
+
+        // When
+        counterReconciliationService.reconcile();
+
+        // Then
+        verify(blogRepository).lockByIdIn(List.of("a"));
+        verify(blogRepository, never()).setLikeCount(anyString(), anyInt());
+    }
+}
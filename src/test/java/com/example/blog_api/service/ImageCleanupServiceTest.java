@@ -0,0 +1,156 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.ImageCleanupTask;
+import com.example.blog_api.repository.ImageCleanupTaskRepository;
+import com.example.blog_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageCleanupService 単体テスト")
+class ImageCleanupServiceTest {
+
+    private static final String URL = "https://example.com/icon-500.jpg";
+
+    @Mock
+    private ImageCleanupTaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    private ImageCleanupService imageCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        imageCleanupService = new ImageCleanupService(taskRepository, userRepository, imageStorage,
+                100, Duration.ofSeconds(30), Duration.ofMinutes(10), 3);
+    }
+
+    @Test
+    @DisplayName("削除処理 - ストレージから削除し、登録を消す")
+    void processDueTasks_DeletesImage() throws Exception {
+        // Given
+        ImageCleanupTask task = new ImageCleanupTask(URL);
+        when(taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        when(userRepository.isIconReferenced(URL)).thenReturn(false);
+
+        // When
+        imageCleanupService.processDueTasks();
+
+        // Then
+        verify(imageStorage).delete(URL);
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    @DisplayName("削除処理 - 再び使われている画像は削除しない")
+    void processDueTasks_SkipsReferencedImage() throws Exception {
+        // Given
+        ImageCleanupTask task = new ImageCleanupTask(URL);
+        when(taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        when(userRepository.isIconReferenced(URL)).thenReturn(true);
+
+        // When
+        imageCleanupService.processDueTasks();
+
+        // Then
+        verify(imageStorage, never()).delete(any());
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    @DisplayName("削除処理 - 登録後に保存し直された画像は削除しない")
+    void processDueTasks_SkipsImageStoredAfterEnqueue() throws Exception {
+        // Given
+        ImageCleanupTask task = new ImageCleanupTask(URL);
+        task.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        when(taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        when(userRepository.isIconReferenced(URL)).thenReturn(false);
+        when(imageStorage.storedAt(URL)).thenReturn(Optional.of(Instant.now()));
+
+        // When
+        imageCleanupService.processDueTasks();
+
+        // Then
+        verify(imageStorage, never()).delete(any());
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    @DisplayName("削除処理 - 登録前に保存された画像は削除する")
+    void processDueTasks_DeletesImageStoredBeforeEnqueue() throws Exception {
+        // Given
+        ImageCleanupTask task = new ImageCleanupTask(URL);
+        when(taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        when(userRepository.isIconReferenced(URL)).thenReturn(false);
+        when(imageStorage.storedAt(URL)).thenReturn(Optional.of(Instant.now().minus(Duration.ofHours(1))));
+
+        // When
+        imageCleanupService.processDueTasks();
+
+        // Then
+        verify(imageStorage).delete(URL);
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    @DisplayName("削除処理 - 失敗した場合は間隔を空けて再試行し、上限に達したら断念")
+    void processDueTasks_RetriesWithBackoff() throws Exception {
+        // Given
+        ImageCleanupTask task = new ImageCleanupTask(URL);
+        when(taskRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        doThrow(new IOException("unavailable")).when(imageStorage).delete(URL);
+
+        // When
+        imageCleanupService.processDueTasks();
+
+        // Then
+        assertThat(task.getAttempts()).isEqualTo(1);
+        assertThat(task.getLastError()).isEqualTo("unavailable");
+        assertThat(task.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        verify(taskRepository).save(task);
+        verify(taskRepository, never()).delete(task);
+
+        // When
+        imageCleanupService.processDueTasks();
+        imageCleanupService.processDueTasks();
+
+        // Then
+        assertThat(task.getAttempts()).isEqualTo(2);
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    @DisplayName("再試行の間隔 - 倍々に延ばし、上限で打ち止め")
+    void backoff() {
+        assertThat(imageCleanupService.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(imageCleanupService.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(imageCleanupService.backoff(5)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(imageCleanupService.backoff(6)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(imageCleanupService.backoff(100)).isEqualTo(Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImageProcessingService 単体テスト")
+class ImageProcessingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThreadPoolTaskExecutor executor;
+    private ImageProcessingService imageProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        imageProcessingService = new ImageProcessingService(executor, 25_000_000L, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("縮小 - 長辺を指定サイズに合わせ、元の画像より大きくはしない")
+    void render_ResizesWithinBox() throws Exception {
+        // Given
+        Path source = writeImage(1000, 500, BufferedImage.TYPE_INT_RGB, "png");
+
+        // When
+        List<ImageProcessingService.Rendition> renditions = imageProcessingService.render(source, 48, 500, 2000);
+
+        // Then
+        try {
+            assertThat(renditions).extracting(ImageProcessingService.Rendition::extension)
+                    .containsOnly("jpg");
+            assertSize(renditions.get(0), 48, 24);
+            assertSize(renditions.get(1), 500, 250);
+            assertSize(renditions.get(2), 1000, 500);
+        } finally {
+            renditions.forEach(ImageProcessingService.Rendition::deleteQuietly);
+        }
+    }
+
+    @Test
+    @DisplayName("縮小 - 透過のある画像はPNGで出力")
+    void render_KeepsAlphaAsPng() throws Exception {
+        // Given
+        Path source = writeImage(200, 200, BufferedImage.TYPE_INT_ARGB, "png");
+
+        // When
+        List<ImageProcessingService.Rendition> renditions = imageProcessingService.render(source, 128);
+
+        // Then
+        try {
+            assertThat(renditions.get(0).extension()).isEqualTo("png");
+            assertSize(renditions.get(0), 128, 128);
+        } finally {
+            renditions.forEach(ImageProcessingService.Rendition::deleteQuietly);
+        }
+    }
+
+    @Test
+    @DisplayName("縮小 - 画素数が上限を超える画像はデコードせずに拒否")
+    void render_RejectsTooManyPixels() throws Exception {
+        // Given
+        ImageProcessingService limited = new ImageProcessingService(executor, 10_000L, Duration.ofSeconds(10));
+        Path source = writeImage(200, 100, BufferedImage.TYPE_INT_RGB, "png");
+
+        // When & Then
+        assertThatThrownBy(() -> limited.render(source, 48))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Image dimensions are too large");
+    }
+
+    @Test
+    @DisplayName("縮小 - 画像として読み込めないファイルは拒否")
+    void render_RejectsUndecodableFile() throws Exception {
+        // Given
+        Path source = Files.write(tempDir.resolve("broken.png"), "not an image".getBytes());
+
+        // When & Then
+        assertThatThrownBy(() -> imageProcessingService.render(source, 48))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private Path writeImage(int width, int height, int type, String format) throws Exception {
+        Path file = tempDir.resolve("source." + format);
+        ImageIO.write(new BufferedImage(width, height, type), format, file.toFile());
+        return file;
+    }
+
+    private static void assertSize(ImageProcessingService.Rendition rendition, int width, int height) throws Exception {
+        BufferedImage image = ImageIO.read(rendition.file().toFile());
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+    }
+}
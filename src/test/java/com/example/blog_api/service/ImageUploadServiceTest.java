@@ -0,0 +1,118 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageUploadService 単体テスト")
+class ImageUploadServiceTest {
+
+    private static final byte[] PNG_HEADER = {
+            (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D
+    };
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private ImageProcessingService imageProcessingService;
+
+    private ImageUploadService imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        imageUploadService = new ImageUploadService(imageStorage, imageProcessingService, 48, 128, 500);
+    }
+
+    @Test
+    @DisplayName("画像アップロード - 縮小した画像をそれぞれ保存し、一時ファイルを削除")
+    void uploadImage_Success() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("icon", "icon.bin", "application/octet-stream", PNG_HEADER);
+        Path[] uploaded = new Path[1];
+        List<ImageProcessingService.Rendition> renditions = List.of(
+                rendition(), rendition(), rendition());
+        when(imageProcessingService.render(any(Path.class), eq(48), eq(128), eq(500))).thenAnswer(invocation -> {
+            uploaded[0] = invocation.getArgument(0);
+            assertThat(uploaded[0]).exists().hasBinaryContent(PNG_HEADER);
+            return renditions;
+        });
+        when(imageStorage.store(renditions.get(0).file(), "user-icons", "jpg")).thenReturn("https://example.com/s.jpg");
+        when(imageStorage.store(renditions.get(1).file(), "user-icons", "jpg")).thenReturn("https://example.com/m.jpg");
+        when(imageStorage.store(renditions.get(2).file(), "user-icons", "jpg")).thenReturn("https://example.com/l.jpg");
+
+        // When
+        ImageRenditions result = imageUploadService.uploadImage(file, "user-icons");
+
+        // Then
+        assertThat(result).isEqualTo(new ImageRenditions(
+                "https://example.com/s.jpg", "https://example.com/m.jpg", "https://example.com/l.jpg"));
+        assertThat(uploaded[0]).doesNotExist();
+        renditions.forEach(r -> assertThat(r.file()).doesNotExist());
+    }
+
+    @Test
+    @DisplayName("画像アップロード - 保存に失敗した場合は保存済みの画像を削除")
+    void uploadImage_StoreFailure() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("icon", "icon.bin", "application/octet-stream", PNG_HEADER);
+        List<ImageProcessingService.Rendition> renditions = List.of(
+                rendition(), rendition(), rendition());
+        when(imageProcessingService.render(any(Path.class), anyInt(), anyInt(), anyInt())).thenReturn(renditions);
+        when(imageStorage.store(renditions.get(0).file(), "user-icons", "jpg")).thenReturn("https://example.com/s.jpg");
+        when(imageStorage.store(renditions.get(1).file(), "user-icons", "jpg")).thenThrow(new IOException("disk full"));
+
+        // When & Then
+        assertThatThrownBy(() -> imageUploadService.uploadImage(file, "user-icons"))
+                .isInstanceOf(IOException.class);
+        verify(imageStorage).delete("https://example.com/s.jpg");
+        renditions.forEach(r -> assertThat(r.file()).doesNotExist());
+    }
+
+    @Test
+    @DisplayName("画像アップロード - Content-Typeが画像でも中身が画像でなければ拒否")
+    void uploadImage_RejectsSpoofedContentType() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("icon", "icon.png", "image/png",
+                "<script>alert(1)</script>".getBytes());
+
+        // When & Then
+        assertThatThrownBy(() -> imageUploadService.uploadImage(file, "user-icons"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(imageStorage, imageProcessingService);
+    }
+
+    @Test
+    @DisplayName("画像形式の判定 - マジックバイト")
+    void detectImageFormat() {
+        assertThat(ImageUploadService.detectImageFormat(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}))
+                .isEqualTo("jpg");
+        assertThat(ImageUploadService.detectImageFormat(PNG_HEADER)).isEqualTo("png");
+        assertThat(ImageUploadService.detectImageFormat("GIF89a".getBytes())).isEqualTo("gif");
+        assertThat(ImageUploadService.detectImageFormat("RIFF\0\0\0\0WEBP".getBytes())).isEqualTo("webp");
+        assertThat(ImageUploadService.detectImageFormat("RIFF\0\0\0\0WAVE".getBytes())).isNull();
+        assertThat(ImageUploadService.detectImageFormat(new byte[0])).isNull();
+    }
+
+    private static ImageProcessingService.Rendition rendition() throws IOException {
+        return new ImageProcessingService.Rendition(Files.createTempFile("rendition-", ".jpg"), "jpg");
+    }
+}
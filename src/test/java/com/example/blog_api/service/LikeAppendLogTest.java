@@ -0,0 +1,74 @@
+package com.example.blog_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LikeAppendLog 単体テスト")
+class LikeAppendLogTest {
+
+    @TempDir
+    Path logDir;
+
+    @Test
+    @DisplayName("追記 - 並行した追記をまとめて書き込み、全ての行がセグメントに残る")
+    void append_GroupCommitsConcurrentWriters() throws Exception {
+        // Given
+        LikeAppendLog appendLog = new LikeAppendLog(logDir, true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < 8; thread++) {
+            int t = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    appendLog.append("L\tblog" + t + "\tuser" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Path sealed = appendLog.rotate();
+
+        // Then
+        assertThat(appendLog.read(sealed)).hasSize(400).contains("L\tblog7\tuser49");
+        appendLog.close();
+        assertThatThrownBy(() -> appendLog.append("L\tblog1\tuser1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("セグメント - 既存より大きい番号で作成し、書き込み途中の最終行は読み捨てる")
+    void existingSegments_ContinuesSequence() throws Exception {
+        // Given
+        Path existing = Files.writeString(logDir.resolve("likes-0000000000000000007.log"),
+                "L\tblog1\tuser1\nU\tblog1\tus");
+        LikeAppendLog appendLog = new LikeAppendLog(logDir, false);
+
+        // When
+        List<Path> segments = appendLog.existingSegments();
+        appendLog.append("L\tblog2\tuser2");
+        Path sealed = appendLog.rotate();
+        appendLog.close();
+
+        // Then
+        assertThat(segments).containsExactly(existing);
+        assertThat(appendLog.read(existing)).containsExactly("L\tblog1\tuser1");
+        assertThat(sealed.getFileName().toString()).isEqualTo("likes-0000000000000000008.log");
+        assertThat(appendLog.read(sealed)).containsExactly("L\tblog2\tuser2");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.blog_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalImageStorage 単体テスト")
+class LocalImageStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalImageStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalImageStorage(tempDir.resolve("images"), "/images/");
+    }
+
+    @Test
+    @DisplayName("画像保存 - 内容のハッシュをファイル名として保存し、同じ内容は同じURLになる")
+    void store_ContentAddressed() throws Exception {
+        // Given
+        Path upload1 = Files.write(tempDir.resolve("upload1.png"), new byte[]{1, 2, 3});
+        Path upload2 = Files.write(tempDir.resolve("upload2.png"), new byte[]{1, 2, 3});
+
+        // When
+        String url1 = storage.store(upload1, "user-icons", "png");
+        String url2 = storage.store(upload2, "user-icons", "png");
+
+        // Then
+        assertThat(url1).matches("/images/user-icons/[0-9a-f]{2}/[0-9a-f]{64}\\.png");
+        assertThat(url2).isEqualTo(url1);
+        String[] parts = url1.split("/");
+        Optional<Path> stored = storage.resolve(parts[2], parts[3], parts[4]);
+        assertThat(stored).isPresent();
+        assertThat(stored.get()).hasBinaryContent(new byte[]{1, 2, 3});
+        assertThat(upload1).exists();
+    }
+
+    @Test
+    @DisplayName("画像削除 - URLが指すファイルを削除")
+    void delete_RemovesFile() throws Exception {
+        // Given
+        Path upload = Files.write(tempDir.resolve("upload.gif"), new byte[]{4, 5, 6});
+        String url = storage.store(upload, "user-icons", "gif");
+        String[] parts = url.split("/");
+
+        // When
+        storage.delete(url);
+        storage.delete("https://res.cloudinary.com/demo/image/upload/v1/user-icons/abc.png");
+
+        // Then
+        assertThat(storage.resolve(parts[2], parts[3], parts[4])).isEmpty();
+    }
+
+    @Test
+    @DisplayName("保存日時 - 既存のファイルを再利用した場合も更新される")
+    void storedAt_UpdatedOnReuse() throws Exception {
+        // Given
+        Path upload = Files.write(tempDir.resolve("upload.png"), new byte[]{7, 8, 9});
+        String url = storage.store(upload, "user-icons", "png");
+        String[] parts = url.split("/");
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        Files.setLastModifiedTime(storage.resolve(parts[2], parts[3], parts[4]).get(), FileTime.from(old));
+
+        // When
+        storage.store(upload, "user-icons", "png");
+
+        // Then
+        assertThat(storage.storedAt(url)).hasValueSatisfying(storedAt -> assertThat(storedAt).isAfter(old));
+        assertThat(storage.storedAt("/images/user-icons/../secret.png")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("パスの解決 - 想定外のパスは拒否")
+    void resolve_RejectsUnexpectedPaths() {
+        String hash = "a".repeat(64);
+        assertThat(storage.resolve("..", "aa", hash + ".png")).isEmpty();
+        assertThat(storage.resolve("user-icons", "..", hash + ".png")).isEmpty();
+        assertThat(storage.resolve("user-icons", "aa", "../../etc/passwd")).isEmpty();
+        assertThat(storage.resolve("user-icons", "bb", hash + ".png")).isEmpty();
+        assertThat(storage.resolve("user-icons", "aa", hash + ".png")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("画像の列挙 - 指定日時より前に保存された画像のみ")
+    void forEachImage_ListsOldImages() throws Exception {
+        // Given
+        String oldUrl = storage.store(Files.write(tempDir.resolve("old.png"), new byte[]{1}), "user-icons", "png");
+        String newUrl = storage.store(Files.write(tempDir.resolve("new.png"), new byte[]{2}), "user-icons", "png");
+        String[] parts = oldUrl.split("/");
+        Files.setLastModifiedTime(storage.resolve(parts[2], parts[3], parts[4]).get(),
+                FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        // When
+        List<String> urls = new ArrayList<>();
+        storage.forEachImage("user-icons", Instant.now().minus(Duration.ofHours(1)), urls::add);
+
+        // Then
+        assertThat(urls).containsExactly(oldUrl).doesNotContain(newUrl);
+    }
+}
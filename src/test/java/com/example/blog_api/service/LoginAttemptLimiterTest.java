@@ -0,0 +1,53 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginAttemptLimiter 単体テスト")
+class LoginAttemptLimiterTest {
+
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginAttemptLimiter(3, Duration.ofMinutes(1), 2, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("IPごとの試行回数 - 上限を超えると拒否")
+    void checkAllowed_IpLimit() {
+        // Given
+        limiter.checkAllowed("user1", "10.0.0.1");
+        limiter.checkAllowed("user2", "10.0.0.1");
+        limiter.checkAllowed("user3", "10.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.checkAllowed("user4", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> limiter.checkAllowed("user4", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("アカウントごとの失敗回数 - 上限に達すると拒否し、成功でリセット")
+    void checkAllowed_AccountFailureLimit() {
+        // Given
+        limiter.recordFailure("TestUser");
+        limiter.recordFailure("testuser");
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.checkAllowed("testuser", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        limiter.recordSuccess("testuser");
+        assertThatCode(() -> limiter.checkAllowed("testuser", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagDictionary 単体テスト")
+class TagDictionaryTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private TagDictionary tagDictionary;
+
+    @BeforeEach
+    void setUp() {
+        tagDictionary = new TagDictionary(tagRepository, Duration.ZERO);
+    }
+
+    private Tag tag(String id, String name, LocalDateTime createdAt) {
+        Tag tag = new Tag(name);
+        tag.setId(id);
+        tag.setCreatedAt(createdAt);
+        return tag;
+    }
+
+    @Test
+    @DisplayName("起動時に読み込んだタグを大文字小文字を区別せずに引ける")
+    void warmUp_LoadsAllTags() {
+        // Given
+        when(tagRepository.findAll()).thenReturn(List.of(
+                tag("t1", "Spring Boot", LocalDateTime.now()),
+                tag("t2", "Java", LocalDateTime.now())));
+
+        // When
+        tagDictionary.warmUp();
+
+        // Then
+        assertThat(tagDictionary.isLoaded()).isTrue();
+        assertThat(tagDictionary.findId("spring boot")).isEqualTo("t1");
+        assertThat(tagDictionary.findId("JAVA")).isEqualTo("t2");
+        assertThat(tagDictionary.findId("Kotlin")).isNull();
+    }
+
+    @Test
+    @DisplayName("作成されたタグが辞書に登録される")
+    void onTagsCreated_RegistersTags() {
+        // When
+        tagDictionary.onTagsCreated(new TagsCreatedEvent(List.of(tag("t3", "Docker", LocalDateTime.now()))));
+
+        // Then
+        assertThat(tagDictionary.findId("Docker")).isEqualTo("t3");
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    @DisplayName("部分一致検索 - 大文字小文字を区別しない")
+    void findIdsContaining_MatchesIgnoringCase() {
+        // Given
+        tagDictionary.putAll(List.of(
+                tag("t1", "Spring Boot", LocalDateTime.now()),
+                tag("t2", "Spring MVC", LocalDateTime.now()),
+                tag("t3", "Java", LocalDateTime.now())));
+
+        // When
+        List<String> ids = tagDictionary.findIdsContaining("spring");
+
+        // Then
+        assertThat(ids).containsExactlyInAnyOrder("t1", "t2");
+    }
+
+    @Test
+    @DisplayName("差分読み込みで他ノードが作成したタグを取り込む")
+    void refreshIfStale_LoadsTagsCreatedSinceWatermark() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(tagRepository.findAll()).thenReturn(List.of(tag("t1", "Java", createdAt)));
+        when(tagRepository.findByCreatedAtGreaterThanEqual(any(LocalDateTime.class)))
+                .thenReturn(List.of(tag("t2", "Kotlin", createdAt.plusMinutes(5))));
+        tagDictionary.warmUp();
+
+        // When
+        tagDictionary.refreshIfStale();
+
+        // Then
+        assertThat(tagDictionary.findId("kotlin")).isEqualTo("t2");
+        verify(tagRepository).findByCreatedAtGreaterThanEqual(createdAt.minusMinutes(1));
+    }
+}
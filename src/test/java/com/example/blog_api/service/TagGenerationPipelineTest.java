@@ -0,0 +1,131 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.TagStatus;
+import com.example.blog_api.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagGenerationPipeline 単体テスト")
+class TagGenerationPipelineTest {
+
+    private static final String BLOG_ID = "blog1";
+    private static final String CONTENT = "Spring Boot の入門記事";
+
+    @Mock
+    private TagGenerationService tagGenerationService;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private BlogCache blogCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("タグ生成 - 生成したタグを紐付け、READYにする")
+    void onBlogContentChanged_AssociatesTags() {
+        // Given
+        when(tagGenerationService.generateTags(CONTENT)).thenReturn(Optional.of(List.of("Spring")));
+        when(blogRepository.updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.READY)).thenReturn(1);
+
+        // When
+        pipeline(new SyncTaskExecutor()).onBlogContentChanged(new BlogContentChangedEvent(BLOG_ID, CONTENT));
+
+        // Then
+        verify(tagService).associateTagsWithBlog(BLOG_ID, List.of("Spring"));
+        verify(blogCache).invalidate(BLOG_ID);
+    }
+
+    @Test
+    @DisplayName("タグ生成 - 生成中に本文が変わった場合は紐付けない")
+    void onBlogContentChanged_SkipsWhenContentChanged() {
+        // Given
+        when(tagGenerationService.generateTags(CONTENT)).thenReturn(Optional.of(List.of("Spring")));
+        when(blogRepository.updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.READY)).thenReturn(0);
+
+        // When
+        pipeline(new SyncTaskExecutor()).onBlogContentChanged(new BlogContentChangedEvent(BLOG_ID, CONTENT));
+
+        // Then
+        verify(tagService, never()).associateTagsWithBlog(any(), any());
+        verify(blogRepository, never()).updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("タグ生成 - 生成に失敗した場合はFAILEDにする")
+    void onBlogContentChanged_MarksFailedOnError() {
+        // Given
+        when(tagGenerationService.generateTags(CONTENT)).thenThrow(new IllegalStateException("Gemini unavailable"));
+
+        // When
+        pipeline(new SyncTaskExecutor()).onBlogContentChanged(new BlogContentChangedEvent(BLOG_ID, CONTENT));
+
+        // Then
+        verify(blogRepository).updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.FAILED);
+        verify(tagService, never()).associateTagsWithBlog(any(), any());
+        verify(blogCache).invalidate(BLOG_ID);
+    }
+
+    @Test
+    @DisplayName("タグ生成 - Gemini APIの失敗や遮断で生成できなかった場合はFAILEDにする")
+    void onBlogContentChanged_MarksFailedWhenNotGenerated() {
+        // Given
+        when(tagGenerationService.generateTags(CONTENT)).thenReturn(Optional.empty());
+
+        // When
+        pipeline(new SyncTaskExecutor()).onBlogContentChanged(new BlogContentChangedEvent(BLOG_ID, CONTENT));
+
+        // Then
+        verify(blogRepository).updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.FAILED);
+        verify(blogRepository, never()).updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.READY);
+        verify(tagService, never()).associateTagsWithBlog(any(), any());
+    }
+
+    @Test
+    @DisplayName("タグ生成 - キューが溢れた場合は呼び出し元で生成せずFAILEDにする")
+    void onBlogContentChanged_MarksFailedWhenRejected() {
+        // Given
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("queue is full");
+        };
+
+        // When
+        pipeline(rejecting).onBlogContentChanged(new BlogContentChangedEvent(BLOG_ID, CONTENT));
+
+        // Then
+        verify(tagGenerationService, never()).generateTags(any());
+        verify(blogRepository).updateTagStatusIfContentMatches(BLOG_ID, CONTENT, TagStatus.FAILED);
+        verify(blogCache).invalidate(BLOG_ID);
+    }
+
+    private TagGenerationPipeline pipeline(TaskExecutor executor) {
+        return new TagGenerationPipeline(tagGenerationService, tagService, blogRepository, blogCache,
+                executor, transactionManager);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.repository.TagGenerationCacheRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TagGenerationService 一括生成テスト")
+class TagGenerationServiceBatchTest {
+
+    private HttpServer geminiStub;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile String replyText;
+    private volatile int replyStatus = 200;
+
+    private TagGenerationService tagGenerationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        geminiStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        geminiStub.createContext("/v1beta/models/", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = geminiResponse(replyText).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(replyStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        geminiStub.start();
+
+        tagGenerationService = new TagGenerationService(
+                new RestTemplate(),
+                new CircuitBreaker(5, 30_000L),
+                mock(TagGenerationCacheRepository.class),
+                new SimpleMeterRegistry(),
+                100,
+                Duration.ofMinutes(10),
+                false);
+        ReflectionTestUtils.setField(tagGenerationService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(tagGenerationService, "model", "test-model");
+        ReflectionTestUtils.setField(tagGenerationService, "baseUrl",
+                "http://localhost:" + geminiStub.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        geminiStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("複数記事のタグを1回のリクエストで生成する")
+    void generateTagsBatch_SingleRequest() {
+        // Given
+        replyText = "1: Java, Spring Boot\n2: 料理, レシピ\n3: 旅行";
+
+        // When
+        List<List<String>> result = tagGenerationService.generateTagsBatch(
+                List.of("Spring Bootの話", "カレーの作り方", "京都旅行記"));
+
+        // Then
+        assertThat(result).containsExactly(
+                List.of("Java", "Spring Boot"),
+                List.of("料理", "レシピ"),
+                List.of("旅行"));
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("キャッシュ済みの記事はリクエストに含めない")
+    void generateTagsBatch_UsesCache() {
+        // Given
+        replyText = "1: Java";
+        tagGenerationService.generateTagsBatch(List.of("Spring Bootの話"));
+        replyText = "1: 料理";
+
+        // When
+        List<List<String>> result = tagGenerationService.generateTagsBatch(
+                List.of("Spring Bootの話", "カレーの作り方"));
+
+        // Then
+        assertThat(result).containsExactly(List.of("Java"), List.of("料理"));
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("生成できなかった記事はフォールバックのタグを付けずにnullを返す")
+    void generateTagsBatch_ReturnsNullForFailedItems() {
+        // Given
+        replyText = "1: Java";
+        tagGenerationService.generateTagsBatch(List.of("Spring Bootの話"));
+        replyStatus = 500;
+
+        // When
+        List<List<String>> result = tagGenerationService.generateTagsBatch(
+                List.of("Spring Bootの話", "カレーの作り方"));
+
+        // Then
+        assertThat(result).containsExactly(List.of("Java"), null);
+    }
+
+    @Test
+    @DisplayName("応答の区切りを記事ごとのタグに分割する")
+    void parseBatchTags() {
+        // Given
+        String text = "### 記事 2 ###: 料理、レシピ\n"
+                + "1：Java, Spring\n"
+                + "5: 範囲外\n"
+                + "説明文は無視される";
+
+        // When
+        List<List<String>> result = tagGenerationService.parseBatchTags(text, 3);
+
+        // Then
+        assertThat(result.get(0)).containsExactly("Java", "Spring");
+        assertThat(result.get(1)).containsExactly("料理", "レシピ");
+        assertThat(result.get(2)).isNull();
+    }
+
+    private static String geminiResponse(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + escaped + "\"}]}}]}";
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.repository.TagGenerationCacheRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TagGenerationService キャッシュテスト")
+class TagGenerationServiceCacheTest {
+
+    private static final Duration CACHE_TTL = Duration.ofDays(7);
+
+    private HttpServer geminiStub;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private TagGenerationCacheRepository cacheRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        geminiStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        geminiStub.createContext("/v1beta/models/", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Java, Spring Boot\"}]}}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        geminiStub.start();
+        cacheRepository = mock(TagGenerationCacheRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        geminiStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("キャッシュ - 空白だけの変更はキャッシュを使う")
+    void generateTags_WhitespaceOnlyEditHitsCache() {
+        // Given
+        TagGenerationService tagGenerationService = tagGenerationService(false);
+        Optional<List<String>> first = tagGenerationService.generateTags("Spring Boot の入門記事です。\nDI から始めます。");
+
+        // When
+        Optional<List<String>> second = tagGenerationService.generateTags("  Spring Boot  の入門記事です。\n\n\tDI から始めます。  ");
+
+        // Then
+        assertThat(first).contains(List.of("Java", "Spring Boot"));
+        assertThat(second).isEqualTo(first);
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("キャッシュ - プロンプトに使わない末尾の変更はキャッシュを使い、先頭の変更は生成し直す")
+    void generateTags_EditBeyondTruncationHitsCache() {
+        // Given
+        TagGenerationService tagGenerationService = tagGenerationService(false);
+        String head = "a".repeat(TagGenerationService.MAX_PROMPT_CONTENT_LENGTH);
+        tagGenerationService.generateTags(head + " 元の末尾");
+
+        // When
+        tagGenerationService.generateTags(head + " 書き換えた末尾");
+        tagGenerationService.generateTags("b" + head + " 元の末尾");
+
+        // Then
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("キャッシュの削除 - 有効期限より前に保存した行を削除する")
+    void purgeExpiredCache_DeletesRowsOlderThanTtl() {
+        // Given
+        TagGenerationService tagGenerationService = tagGenerationService(true);
+        LocalDateTime before = LocalDateTime.now().minus(CACHE_TTL);
+
+        // When
+        tagGenerationService.purgeExpiredCache();
+
+        // Then
+        verify(cacheRepository).deleteCreatedBefore(argThat(threshold ->
+                !threshold.isBefore(before) && threshold.isBefore(before.plusMinutes(1))));
+    }
+
+    @Test
+    @DisplayName("キャッシュの削除 - 永続キャッシュが無効な場合は何もしない")
+    void purgeExpiredCache_SkipsWhenPersistentCacheDisabled() {
+        // Given
+        TagGenerationService tagGenerationService = tagGenerationService(false);
+
+        // When
+        tagGenerationService.purgeExpiredCache();
+
+        // Then
+        verify(cacheRepository, never()).deleteCreatedBefore(any());
+    }
+
+    private TagGenerationService tagGenerationService(boolean persistentCacheEnabled) {
+        TagGenerationService tagGenerationService = new TagGenerationService(
+                new RestTemplate(),
+                new CircuitBreaker(5, 30_000L),
+                cacheRepository,
+                new SimpleMeterRegistry(),
+                100,
+                CACHE_TTL,
+                persistentCacheEnabled);
+        ReflectionTestUtils.setField(tagGenerationService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(tagGenerationService, "model", "test-model");
+        ReflectionTestUtils.setField(tagGenerationService, "baseUrl",
+                "http://localhost:" + geminiStub.getAddress().getPort());
+        return tagGenerationService;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.blog_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TagNgramIndex 単体テスト")
+class TagNgramIndexTest {
+
+    private TagNgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagNgramIndex();
+        index.add("spring boot");
+        index.add("spring mvc");
+        index.add("マイクロサービス");
+        index.add("webアプリケーション");
+    }
+
+    @Test
+    @DisplayName("英字の部分一致")
+    void search_Ascii() {
+        assertThat(index.search("spring")).containsExactlyInAnyOrder("spring boot", "spring mvc");
+        assertThat(index.search("boot")).containsExactly("spring boot");
+    }
+
+    @Test
+    @DisplayName("日本語の部分一致（バイグラム）")
+    void search_Japanese() {
+        assertThat(index.search("サービス")).containsExactly("マイクロサービス");
+        assertThat(index.search("アプリ")).containsExactly("webアプリケーション");
+    }
+
+    @Test
+    @DisplayName("1文字の検索語はユニグラムで検索")
+    void search_SingleCharacter() {
+        assertThat(index.search("ス")).containsExactly("マイクロサービス");
+        assertThat(index.search("m")).containsExactly("spring mvc");
+    }
+
+    @Test
+    @DisplayName("全バイグラムを含んでも部分文字列でなければ一致しない")
+    void search_VerifiesCandidates() {
+        // Given
+        index.add("abcab");
+
+        // When & Then
+        assertThat(index.search("abca")).containsExactly("abcab");
+        assertThat(index.search("bcabc")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("一致しない検索語と重複登録")
+    void search_NoMatchAndDuplicateAdd() {
+        // When
+        index.add("spring boot");
+
+        // Then
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search("kotlin")).isEmpty();
+        assertThat(index.search("")).hasSize(4);
+    }
+}
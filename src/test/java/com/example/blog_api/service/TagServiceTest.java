@@ -0,0 +1,166 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.BlogSearchSort;
+import com.example.blog_api.dto.BlogTag;
+import com.example.blog_api.dto.Tag;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.repository.BlogTagRepository;
+import com.example.blog_api.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagService 単体テスト")
+class TagServiceTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private BlogTagRepository blogTagRepository;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new TagService(tagRepository, blogTagRepository, tagDictionary, eventPublisher, transactionManager);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("タグの紐付け - 既存の紐付けとの差分だけを追加・削除する")
+    @SuppressWarnings("unchecked")
+    void associateTagsWithBlog_AppliesDiff() {
+        // Given
+        when(tagDictionary.findId("Java")).thenReturn("tag-java");
+        when(tagRepository.findByNameIn(List.of("Spring"))).thenReturn(List.of(tag("tag-spring", "Spring")));
+        when(blogTagRepository.findByBlogId("blog1"))
+                .thenReturn(List.of(new BlogTag("blog1", "tag-java"), new BlogTag("blog1", "tag-old")));
+
+        // When
+        tagService.associateTagsWithBlog("blog1", List.of("Java", "Spring"));
+
+        // Then
+        ArgumentCaptor<Collection<String>> removedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(blogTagRepository).deleteByBlogIdAndTagIdIn(eq("blog1"), removedCaptor.capture());
+        assertThat(removedCaptor.getValue()).containsExactly("tag-old");
+
+        ArgumentCaptor<List<BlogTag>> addedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(blogTagRepository).saveAll(addedCaptor.capture());
+        assertThat(addedCaptor.getValue()).extracting(BlogTag::getTagId).containsExactly("tag-spring");
+        verify(tagRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("タグの紐付け - 変更が無い場合は追加も削除もしない")
+    void associateTagsWithBlog_NoChanges() {
+        // Given
+        when(tagDictionary.findId("Java")).thenReturn("tag-java");
+        when(blogTagRepository.findByBlogId("blog1")).thenReturn(List.of(new BlogTag("blog1", "tag-java")));
+
+        // When
+        tagService.associateTagsWithBlog("blog1", List.of("Java"));
+
+        // Then
+        verify(blogTagRepository, never()).deleteByBlogIdAndTagIdIn(any(), anyCollection());
+        verify(blogTagRepository, never()).saveAll(any());
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    @DisplayName("タグの紐付け - 空白・大文字小文字の違いによる重複と空のタグ名を除き、50文字に切り詰めて作成する")
+    @SuppressWarnings("unchecked")
+    void associateTagsWithBlog_NormalizesNames() {
+        // Given
+        String longName = "a".repeat(60);
+        String truncated = "a".repeat(50);
+        when(tagRepository.findByNameIn(List.of("Java", truncated))).thenReturn(List.of());
+        when(tagRepository.saveAll(any())).thenReturn(List.of(tag("tag-java", "Java"), tag("tag-long", truncated)));
+        when(blogTagRepository.findByBlogId("blog1")).thenReturn(List.of());
+
+        // When
+        tagService.associateTagsWithBlog("blog1", Arrays.asList(" Java ", "java", "JAVA", "  ", null, longName));
+
+        // Then
+        ArgumentCaptor<List<Tag>> createdCaptor = ArgumentCaptor.forClass(List.class);
+        verify(tagRepository).saveAll(createdCaptor.capture());
+        assertThat(createdCaptor.getValue()).extracting(Tag::getName).containsExactly("Java", truncated);
+
+        ArgumentCaptor<List<BlogTag>> addedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(blogTagRepository).saveAll(addedCaptor.capture());
+        assertThat(addedCaptor.getValue()).extracting(BlogTag::getTagId).containsExactly("tag-java", "tag-long");
+    }
+
+    @Test
+    @DisplayName("タグの紐付け - 同名タグの同時作成と競合した場合はコミット済みのタグを読み直して使う")
+    @SuppressWarnings("unchecked")
+    void associateTagsWithBlog_ReloadsOnConcurrentInsert() {
+        // Given
+        when(tagRepository.findByNameIn(List.of("Spring")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(tag("tag-spring", "Spring")));
+        when(tagRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(blogTagRepository.findByBlogId("blog1")).thenReturn(List.of());
+
+        // When
+        tagService.associateTagsWithBlog("blog1", List.of("Spring"));
+
+        // Then
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        ArgumentCaptor<List<BlogTag>> addedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(blogTagRepository).saveAll(addedCaptor.capture());
+        assertThat(addedCaptor.getValue()).extracting(BlogTag::getTagId).containsExactly("tag-spring");
+    }
+
+    @Test
+    @DisplayName("タグ検索 - 一致するタグが多すぎる検索語は拒否する")
+    void searchBlogIdsByTagNames_RejectsTooBroadTerm() {
+        // Given
+        List<String> tagIds = IntStream.rangeClosed(0, TagService.MAX_TAGS_PER_TERM)
+                .mapToObj(i -> "tag-" + i)
+                .toList();
+        when(tagDictionary.isLoaded()).thenReturn(true);
+        when(tagDictionary.findIdsContaining("a")).thenReturn(tagIds);
+
+        // When & Then
+        assertThatThrownBy(() -> tagService.searchBlogIdsByTagNames(List.of("a"), false, BlogSearchSort.RECENT, 0, 10))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(blogTagRepository);
+    }
+
+    private static Tag tag(String id, String name) {
+        Tag tag = new Tag(name);
+        tag.setId(id);
+        return tag;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.repository.BlogLikeRepository;
+import com.example.blog_api.repository.CommentLikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLikeIndex 単体テスト")
+class UserLikeIndexTest {
+
+    @Mock
+    private BlogLikeRepository blogLikeRepository;
+
+    @Mock
+    private CommentLikeRepository commentLikeRepository;
+
+    private UserLikeIndex userLikeIndex;
+
+    @BeforeEach
+    void setUp() {
+        userLikeIndex = new UserLikeIndex(blogLikeRepository, commentLikeRepository, new SimpleMeterRegistry(),
+                100, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("いいね済み判定 - キャッシュした集合にいいね・いいね解除を反映する")
+    void likedBlogIds_AppliesLikeChanges() {
+        // Given
+        when(blogLikeRepository.countByUserId("user1")).thenReturn(1L);
+        when(blogLikeRepository.findBlogIdsByUserId("user1")).thenReturn(List.of("blog1"));
+        userLikeIndex.likedBlogIds("user1", List.of("blog1"));
+
+        // When
+        userLikeIndex.onLikeChanged(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, "blog2", "user1", true));
+        userLikeIndex.onLikeChanged(new LikeChangedEvent(LikeChangedEvent.Target.BLOG, "blog1", "user1", false));
+
+        // Then
+        assertThat(userLikeIndex.likedBlogIds("user1", List.of("blog1", "blog2", "blog3"))).containsExactly("blog2");
+        verify(blogLikeRepository, times(1)).findBlogIdsByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("いいね済み判定 - 読み込み中にいいねがコミットされた場合は読み込んだ集合をキャッシュしない")
+    void likedBlogIds_SkipsCachingWhenLikeCommittedDuringLoad() {
+        // Given
+        when(blogLikeRepository.countByUserId("user1")).thenReturn(0L);
+        when(blogLikeRepository.findBlogIdsByUserId("user1"))
+                .thenAnswer(invocation -> {
+                    // 読み込みの後、キャッシュへの格納の前にいいねがコミットされる
+                    userLikeIndex.onLikeChanged(
+                            new LikeChangedEvent(LikeChangedEvent.Target.BLOG, "blog1", "user1", true));
+                    return List.of();
+                })
+                .thenReturn(List.of("blog1"));
+
+        // When
+        List<String> duringLoad = userLikeIndex.likedBlogIds("user1", List.of("blog1"));
+        List<String> afterLoad = userLikeIndex.likedBlogIds("user1", List.of("blog1"));
+
+        // Then
+        assertThat(duringLoad).isEmpty();
+        assertThat(afterLoad).containsExactly("blog1");
+        verify(blogLikeRepository, times(2)).findBlogIdsByUserId("user1");
+    }
+}
@@ -12,8 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,7 +34,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private ImageUploadService imageUploadService;
@@ -38,6 +42,15 @@ class UserServiceTest {
     @Mock
     private PasswordValidationService passwordValidationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImageCleanupService imageCleanupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -64,7 +77,7 @@ class UserServiceTest {
         // Given
         when(userRepository.findByName(anyString())).thenReturn(Optional.empty());
         doNothing().when(passwordValidationService).validatePassword(anyString());
-        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(passwordHashingService.encode(anyString())).thenReturn("hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
         // When
@@ -75,10 +88,28 @@ class UserServiceTest {
         assertThat(result.getName()).isEqualTo("testuser");
         verify(userRepository).findByName("testuser");
         verify(passwordValidationService).validatePassword("TestPass123");
-        verify(passwordEncoder).encode("TestPass123");
+        verify(passwordHashingService).encode("TestPass123");
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("ユーザー作成 - 保存に失敗した場合はアップロードした画像の削除を登録")
+    void createUser_SaveFailed_DeletesUploadedIcon() throws Exception {
+        // Given
+        MockMultipartFile iconFile = new MockMultipartFile("icon", "icon.png", "image/png", new byte[]{1});
+        when(userRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(passwordHashingService.encode(anyString())).thenReturn("hashedPassword");
+        ImageRenditions icon = new ImageRenditions(
+                "https://example.com/icon-48.jpg", "https://example.com/icon-128.jpg", "https://example.com/icon-500.jpg");
+        when(imageUploadService.uploadImage(iconFile, "user-icons")).thenReturn(icon);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // When & Then
+        assertThatThrownBy(() -> userService.createUser(validRequest, iconFile))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(imageCleanupService).enqueue(icon.urls());
+    }
+
     @Test
     @DisplayName("ユーザー作成 - 重複エラー")
     void createUser_DuplicateUser() {
@@ -127,8 +158,11 @@ class UserServiceTest {
 
     @Test
     @DisplayName("ユーザー削除 - 成功")
-    void deleteUser_Success() {
+    void deleteUser_Success() throws Exception {
         // Given
+        existingUser.setIconUrl("https://example.com/icon-500.jpg");
+        existingUser.setIconSmallUrl("https://example.com/icon-48.jpg");
+        existingUser.setIconMediumUrl("https://example.com/icon-128.jpg");
         when(userRepository.findById("user123")).thenReturn(Optional.of(existingUser));
         doNothing().when(userRepository).delete(any(User.class));
 
@@ -138,5 +172,9 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById("user123");
         verify(userRepository).delete(existingUser);
+        verify(imageCleanupService).enqueue(List.of(
+                "https://example.com/icon-500.jpg", "https://example.com/icon-128.jpg", "https://example.com/icon-48.jpg"));
+        verify(imageUploadService, never()).deleteImage(anyString());
+        verify(eventPublisher).publishEvent(any(UserDeletedEvent.class));
     }
 }
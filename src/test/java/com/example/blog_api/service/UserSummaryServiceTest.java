@@ -0,0 +1,87 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.Blog;
+import com.example.blog_api.dto.User;
+import com.example.blog_api.dto.WithAuthor;
+import com.example.blog_api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSummaryService 単体テスト")
+class UserSummaryServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSummaryService userSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        userSummaryService = new UserSummaryService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("投稿者の付与 - 重複を除いて1回で取得し、2回目以降はキャッシュから返す")
+    void withAuthors_BatchesAndCaches() {
+        // Given
+        List<Blog> blogs = List.of(blog("blog1", "user1"), blog("blog2", "user2"), blog("blog3", "user1"));
+        when(userRepository.findAllById(Set.of("user1", "user2")))
+                .thenReturn(List.of(user("user1", "ユーザー1"), user("user2", "ユーザー2")));
+
+        // When
+        List<WithAuthor<Blog>> first = userSummaryService.withAuthors(blogs, Blog::getUserId);
+        List<WithAuthor<Blog>> second = userSummaryService.withAuthors(blogs, Blog::getUserId);
+
+        // Then
+        assertThat(first).extracting(item -> item.getAuthor().getNickname())
+                .containsExactly("ユーザー1", "ユーザー2", "ユーザー1");
+        assertThat(second).extracting(item -> item.getItem().getId())
+                .containsExactly("blog1", "blog2", "blog3");
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("投稿者の付与 - プロフィールの更新でキャッシュを削除")
+    void onUserUpdated_InvalidatesCache() {
+        // Given
+        when(userRepository.findAllById(Set.of("user1")))
+                .thenReturn(List.of(user("user1", "変更前")))
+                .thenReturn(List.of(user("user1", "変更後")));
+        userSummaryService.getSummary("user1");
+
+        // When
+        userSummaryService.onUserUpdated(new UserUpdatedEvent("user1"));
+
+        // Then
+        assertThat(userSummaryService.getSummary("user1"))
+                .hasValueSatisfying(summary -> assertThat(summary.getNickname()).isEqualTo("変更後"));
+    }
+
+    private static Blog blog(String id, String userId) {
+        Blog blog = new Blog();
+        blog.setId(id);
+        blog.setUserId(userId);
+        return blog;
+    }
+
+    private static User user(String id, String nickname) {
+        User user = new User();
+        user.setId(id);
+        user.setName(id);
+        user.setNickname(nickname);
+        return user;
+    }
+}